@@ -0,0 +1,106 @@
+package com.tempo.cart.config;
+
+import com.tempo.cart.domain.CartItemCache;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// 장바구니 캐시 값을 가변 길이 정수(zigzag varint) 기반의 바이너리로 직렬화
+// [형식 버전 1byte][itemId 존재 여부 1byte][itemId][userId][productId][price][상품명 길이][상품명 UTF-8]
+// - 숫자는 크기에 따라 1~10byte, 상품명 외에는 구분자나 필드 이름이 없다
+// - 수량과 버전은 CartStore 가 별도 해시 필드에 저장하므로 포함하지 않는다
+// - 첫 바이트가 형식 버전이 아니면 이전 텍스트 형식으로 보고 CartItemCacheTextSerializer 로 읽는다
+public class CartItemCacheBinarySerializer implements RedisSerializer<CartItemCache> {
+    private static final byte FORMAT_VERSION = 1;
+    private static final int MAX_VARLONG_BYTES = 10;
+
+    private final CartItemCacheTextSerializer textSerializer = new CartItemCacheTextSerializer();
+
+    @Override
+    public byte[] serialize(CartItemCache item) throws SerializationException {
+        if (item == null) {
+            return new byte[0];
+        }
+        byte[] name = item.getProductName().getBytes(StandardCharsets.UTF_8);
+        byte[] buffer = new byte[2 + MAX_VARLONG_BYTES * 5 + name.length];
+
+        int position = 0;
+        buffer[position++] = FORMAT_VERSION;
+        buffer[position++] = (byte) (item.getItemId() != null ? 1 : 0);
+        if (item.getItemId() != null) {
+            position = writeVarLong(buffer, position, item.getItemId());
+        }
+        position = writeVarLong(buffer, position, item.getUserId());
+        position = writeVarLong(buffer, position, item.getProductId());
+        position = writeVarLong(buffer, position, item.getPrice());
+        position = writeVarLong(buffer, position, name.length);
+        System.arraycopy(name, 0, buffer, position, name.length);
+        position += name.length;
+
+        return Arrays.copyOf(buffer, position);
+    }
+
+    @Override
+    public CartItemCache deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != FORMAT_VERSION) {
+            return textSerializer.deserialize(bytes);
+        }
+        try {
+            Reader reader = new Reader(bytes, 1);
+            boolean hasItemId = bytes[reader.position++] == 1;
+            Long itemId = hasItemId ? reader.readVarLong() : null;
+            long userId = reader.readVarLong();
+            long productId = reader.readVarLong();
+            long price = reader.readVarLong();
+            int nameLength = (int) reader.readVarLong();
+            String productName = new String(bytes, reader.position, nameLength, StandardCharsets.UTF_8);
+
+            return CartItemCache.builder()
+                    .itemId(itemId)
+                    .userId(userId)
+                    .productId(productId)
+                    .price(price)
+                    .productName(productName)
+                    .build();
+        } catch (IndexOutOfBoundsException e) {
+            throw new SerializationException("장바구니 캐시 값 형식이 올바르지 않습니다.", e);
+        }
+    }
+
+    private static int writeVarLong(byte[] buffer, int position, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        buffer[position++] = (byte) zigzag;
+        return position;
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        private Reader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        private long readVarLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = bytes[position++];
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new SerializationException("장바구니 캐시 값 형식이 올바르지 않습니다.");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.tempo.cart.config;
+
+import com.tempo.cart.domain.CartItemCache;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+
+// 장바구니 캐시 값을 "itemId|userId|productId|price|productName" 형태의 짧은 문자열로 직렬화
+// (JSON + 클래스 타입 정보 대비 크기가 작고 파싱이 단순함, 상품명은 '|' 를 포함할 수 있어 마지막에 둔다)
+// 수량과 버전은 HINCRBY/스크립트로 원자적으로 바꿀 수 있도록 CartStore 가 별도 해시 필드에 저장한다.
+public class CartItemCacheTextSerializer implements RedisSerializer<CartItemCache> {
+    private static final String SEPARATOR = "|";
+    private static final int FIELD_COUNT = 5;
+
+    @Override
+    public byte[] serialize(CartItemCache item) throws SerializationException {
+        if (item == null) {
+            return new byte[0];
+        }
+        String text = (item.getItemId() != null ? item.getItemId().toString() : "")
+                + SEPARATOR + item.getUserId()
+                + SEPARATOR + item.getProductId()
+                + SEPARATOR + item.getPrice()
+                + SEPARATOR + item.getProductName();
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public CartItemCache deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        String[] fields = new String(bytes, StandardCharsets.UTF_8).split("\\|", FIELD_COUNT);
+        if (fields.length != FIELD_COUNT) {
+            throw new SerializationException("장바구니 캐시 값 형식이 올바르지 않습니다.");
+        }
+        try {
+            return CartItemCache.builder()
+                    .itemId(fields[0].isEmpty() ? null : Long.valueOf(fields[0]))
+                    .userId(Long.valueOf(fields[1]))
+                    .productId(Long.valueOf(fields[2]))
+                    .price(Long.valueOf(fields[3]))
+                    .productName(fields[4])
+                    .build();
+        } catch (NumberFormatException e) {
+            throw new SerializationException("장바구니 캐시 값 형식이 올바르지 않습니다.", e);
+        }
+    }
+}
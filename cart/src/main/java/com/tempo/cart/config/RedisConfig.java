@@ -1,15 +1,31 @@
 package com.tempo.cart.config;
 
+import com.tempo.cart.domain.CartItemCache;
+import com.tempo.cart.service.CartNearCache;
+import com.tempo.cart.service.ProductEventListener;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
 
 import java.time.Duration;
 
@@ -18,13 +34,14 @@ import java.time.Duration;
 public class RedisConfig {
 
     private static final Duration TIMEOUT = Duration.ofSeconds(3);
-    public static final long CART_ITEM_TTL_SECONDS = 86400; // 24시간
 
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public RedisConnectionFactory redisConnectionFactory(
+            @Value("${spring.data.redis.host:localhost}") String host,
+            @Value("${spring.data.redis.port:6379}") int port) {
         RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration();
-        redisConfig.setHostName("localhost");
-        redisConfig.setPort(6379);
+        redisConfig.setHostName(host);
+        redisConfig.setPort(port);
 
         LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
                 .commandTimeout(TIMEOUT)
@@ -48,4 +65,80 @@ public class RedisConfig {
 
         return template;
     }
-}
\ No newline at end of file
+
+    // 장바구니 캐시 값 형식 (binary: 기본값, text: 사람이 읽을 수 있는 구분자 형식)
+    // binary 는 이전 text 형식 값도 읽을 수 있어 운영 중에 바로 전환할 수 있다.
+    @Bean
+    public RedisSerializer<CartItemCache> cartItemCacheSerializer(
+            @Value("${cart.redis.value-format:binary}") String valueFormat) {
+        switch (valueFormat) {
+            case "binary":
+                return new CartItemCacheBinarySerializer();
+            case "text":
+                return new CartItemCacheTextSerializer();
+            default:
+                throw new IllegalArgumentException("지원하지 않는 cart.redis.value-format 입니다: " + valueFormat);
+        }
+    }
+
+    // 장바구니 해시(cart:{userId}) 전용 템플릿
+    // JDBC 트랜잭션의 MULTI/EXEC 에 묶이지 않도록 트랜잭션 지원은 끈다.
+    @Bean
+    public RedisTemplate<String, CartItemCache> cartRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                                  RedisSerializer<CartItemCache> cartItemCacheSerializer) {
+        RedisTemplate<String, CartItemCache> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+
+        template.setKeySerializer(StringRedisSerializer.UTF_8);
+        template.setHashKeySerializer(StringRedisSerializer.UTF_8);
+        template.setHashValueSerializer(cartItemCacheSerializer);
+
+        template.afterPropertiesSet();
+
+        return template;
+    }
+
+    // 다른 인스턴스의 장바구니 변경 알림을 받아 near cache 를 무효화
+    @Bean
+    @ConditionalOnProperty(name = "cart.near-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cartNearCacheListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       CartNearCache cartNearCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cartNearCache, new ChannelTopic(CartNearCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    // 상품 변경 스트림(product:events)을 컨슈머 그룹으로 읽는다 (인스턴스가 여러 개여도 이벤트마다 한 곳에서만 처리)
+    @Bean
+    @ConditionalOnProperty(name = "cart.product-events.enabled", havingValue = "true", matchIfMissing = true)
+    public StreamMessageListenerContainer<String, MapRecord<String, String, String>> productEventListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate stringRedisTemplate,
+            ProductEventListener productEventListener) {
+        try {
+            stringRedisTemplate.opsForStream().createGroup(ProductEventListener.STREAM_KEY, ReadOffset.latest(),
+                    ProductEventListener.CONSUMER_GROUP);
+        } catch (RuntimeException e) {
+            // 이미 그룹이 있으면(BUSYGROUP) 그대로 사용
+            log.info("상품 변경 스트림 컨슈머 그룹 생성 생략 - reason: {}", e.getMessage());
+        }
+
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(Duration.ofSeconds(1))
+                        .batchSize(100)
+                        .build();
+        StreamMessageListenerContainer<String, MapRecord<String, String, String>> container =
+                StreamMessageListenerContainer.create(connectionFactory, options);
+        container.register(StreamReadRequest.builder(
+                                StreamOffset.create(ProductEventListener.STREAM_KEY, ReadOffset.lastConsumed()))
+                        .consumer(Consumer.from(ProductEventListener.CONSUMER_GROUP, productEventListener.getConsumerName()))
+                        .autoAcknowledge(false)
+                        // Redis 연결 오류가 나도 구독을 끊지 않고 다음 폴링에서 다시 읽는다
+                        .cancelOnError(error -> false)
+                        .build(),
+                productEventListener);
+        return container;
+    }
+}
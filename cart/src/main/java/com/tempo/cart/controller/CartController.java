@@ -1,7 +1,9 @@
 package com.tempo.cart.controller;
 
+import com.tempo.cart.dto.CartBatchRequest;
 import com.tempo.cart.dto.CartItemRequest;
 import com.tempo.cart.dto.CartItemResponse;
+import com.tempo.cart.dto.CartSummaryResponse;
 import com.tempo.cart.service.CartService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +28,15 @@ public class CartController {
         return ResponseEntity.ok(cartItems);
     }
 
+    @GetMapping("/{userId}/summary")
+    public ResponseEntity<CartSummaryResponse> getCartSummary(@PathVariable Long userId) {
+        log.info("장바구니 요약 조회 요청 - userId: {}", userId);
+        CartSummaryResponse summary = cartService.getCartSummary(userId);
+        log.info("장바구니 요약 조회 완료 - userId: {}, itemCount: {}, totalPrice: {}",
+                userId, summary.getItemCount(), summary.getTotalPrice());
+        return ResponseEntity.ok(summary);
+    }
+
     @PostMapping
     public ResponseEntity<CartItemResponse> addCartItem(@RequestBody CartItemRequest request) {
         log.info("장바구니 상품 추가 요청 - userId: {}, productId: {}",
@@ -35,6 +46,17 @@ public class CartController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // 여러 상품의 담기/수량 변경/빼기를 한 번에 반영하고 결과 장바구니를 반환
+    @PostMapping("/{userId}/batch")
+    public ResponseEntity<List<CartItemResponse>> applyBatch(
+            @PathVariable Long userId,
+            @RequestBody CartBatchRequest request) {
+        log.info("장바구니 일괄 변경 요청 - userId: {}", userId);
+        List<CartItemResponse> cartItems = cartService.applyBatch(userId, request);
+        log.info("장바구니 일괄 변경 완료 - userId: {}, itemCount: {}", userId, cartItems.size());
+        return ResponseEntity.ok(cartItems);
+    }
+
     @DeleteMapping("/{userId}/products/{productId}")
     public ResponseEntity<Void> removeCartItem(
             @PathVariable Long userId,
@@ -9,12 +9,16 @@ import lombok.NoArgsConstructor;
 import java.io.Serializable;
 
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items",
+        uniqueConstraints = @UniqueConstraint(name = "uk_cart_items_user_product", columnNames = {"user_id", "product_id"}),
+        indexes = @Index(name = "idx_cart_items_product_id", columnList = "product_id"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class CartItem {
+    // IDENTITY 는 INSERT 마다 키를 받아와야 해서 JDBC 배치가 꺼지므로, 시퀀스에서 50개씩 미리 할당받는다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_items_seq")
+    @SequenceGenerator(name = "cart_items_seq", sequenceName = "cart_items_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,6 +36,10 @@ public class CartItem {
     @Column(nullable = false)
     private Long price;
 
+    // 캐시 반영 순서 판단용 (CartStore 는 더 높은 버전일 때만 덮어씀)
+    @Version
+    private Long version;
+
     @Builder
     public CartItem(Long userId, Long productId, Integer quantity, String productName, Long price) {
         this.userId = userId;
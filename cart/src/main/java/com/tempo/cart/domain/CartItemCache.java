@@ -1,45 +1,43 @@
 package com.tempo.cart.domain;
 
-import jakarta.persistence.Id;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.springframework.data.redis.core.RedisHash;
-
-import java.io.Serializable;
 
+// 장바구니 Redis 캐시 값 (사용자별 해시 cart:{userId} 의 productId 필드에 저장, CartStore 참고)
 @Getter
 @NoArgsConstructor
-@RedisHash(value = "cart_item", timeToLive = 86400) // 24시간 유효
-public class CartItemCache implements Serializable {
-    @Id
-    private String id;
+public class CartItemCache {
     private Long itemId;  // JPA 엔티티의 ID
     private Long userId;
     private Long productId;
     private Integer quantity;
     private String productName;
     private Long price;
+    private Long version; // CartItem 의 버전 (write-behind 로 Redis 에만 있는 항목은 null)
 
     @Builder
-    public CartItemCache(Long itemId, Long userId, Long productId, Integer quantity, String productName, Long price) {
-        this.id = generateId(userId, productId);
+    public CartItemCache(Long itemId, Long userId, Long productId, Integer quantity, String productName, Long price,
+                         Long version) {
         this.itemId = itemId;
         this.userId = userId;
         this.productId = productId;
         this.quantity = quantity;
         this.productName = productName;
         this.price = price;
-    }
-
-    public static String generateId(Long userId, Long productId) {
-        return String.format("%d:%d", userId, productId);
+        this.version = version;
     }
 
     public void updateQuantity(Integer quantity) {
         this.quantity = quantity;
     }
 
+    // 상품 서비스의 이름/가격 변경 반영
+    public void updateProduct(String productName, Long price) {
+        this.productName = productName;
+        this.price = price;
+    }
+
     public CartItem toEntity() {
         return CartItem.builder()
                 .userId(userId)
@@ -58,7 +56,7 @@ public class CartItemCache implements Serializable {
                 .quantity(cartItem.getQuantity())
                 .productName(cartItem.getProductName())
                 .price(cartItem.getPrice())
+                .version(cartItem.getVersion())
                 .build();
     }
 }
-
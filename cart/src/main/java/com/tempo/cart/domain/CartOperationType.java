@@ -0,0 +1,8 @@
+package com.tempo.cart.domain;
+
+// 장바구니 일괄 변경 연산
+public enum CartOperationType {
+    ADD,     // 수량 더하기 (없으면 새로 담기)
+    UPDATE,  // 수량 바꾸기
+    REMOVE   // 빼기
+}
@@ -0,0 +1,18 @@
+package com.tempo.cart.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class CartBatchRequest {
+    private List<CartOperationRequest> operations;
+
+    @Builder
+    public CartBatchRequest(List<CartOperationRequest> operations) {
+        this.operations = operations;
+    }
+}
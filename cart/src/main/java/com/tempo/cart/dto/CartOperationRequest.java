@@ -0,0 +1,47 @@
+package com.tempo.cart.dto;
+
+import com.tempo.cart.domain.CartItem;
+import com.tempo.cart.domain.CartOperationType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class CartOperationRequest {
+    private CartOperationType type;
+    private Long productId;
+    private Integer quantity;       // ADD: 더할 수량, UPDATE: 바꿀 수량
+    private String productName;     // ADD 로 새로 담을 때만 사용
+    private Long price;             // ADD 로 새로 담을 때만 사용
+
+    @Builder
+    public CartOperationRequest(CartOperationType type, Long productId, Integer quantity,
+                                String productName, Long price) {
+        this.type = type;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.productName = productName;
+        this.price = price;
+    }
+
+    public CartItem toEntity(Long userId) {
+        return CartItem.builder()
+                .userId(userId)
+                .productId(productId)
+                .quantity(quantity)
+                .productName(productName)
+                .price(price)
+                .build();
+    }
+
+    public CartItemRequest toItemRequest(Long userId) {
+        return CartItemRequest.builder()
+                .userId(userId)
+                .productId(productId)
+                .quantity(quantity)
+                .productName(productName)
+                .price(price)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.tempo.cart.dto;
+
+import com.tempo.cart.repository.CartSummary;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class CartSummaryResponse {
+    private final Long userId;
+    private final long itemCount;
+    private final long totalQuantity;
+    private final long totalPrice;
+
+    @Builder
+    public CartSummaryResponse(Long userId, long itemCount, long totalQuantity, long totalPrice) {
+        this.userId = userId;
+        this.itemCount = itemCount;
+        this.totalQuantity = totalQuantity;
+        this.totalPrice = totalPrice;
+    }
+
+    public static CartSummaryResponse from(CartSummary summary) {
+        return CartSummaryResponse.builder()
+                .userId(summary.getUserId())
+                .itemCount(summary.getItemCount())
+                .totalQuantity(summary.getTotalQuantity())
+                .totalPrice(summary.getTotalPrice())
+                .build();
+    }
+}
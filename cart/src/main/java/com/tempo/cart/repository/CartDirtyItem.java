@@ -0,0 +1,28 @@
+package com.tempo.cart.repository;
+
+import com.tempo.cart.domain.CartItemCache;
+import lombok.Getter;
+
+// write-behind 모드에서 DB 반영을 기다리는 장바구니 항목의 현재 Redis 상태
+@Getter
+public class CartDirtyItem {
+    private final Long userId;
+    private final Long productId;
+    private final CartItemCache item;     // null 이면 장바구니에서 제거된 항목
+    private final boolean cartLoaded;     // 장바구니 해시가 만료되지 않고 남아 있는지
+
+    CartDirtyItem(Long userId, Long productId, CartItemCache item, boolean cartLoaded) {
+        this.userId = userId;
+        this.productId = productId;
+        this.item = item;
+        this.cartLoaded = cartLoaded;
+    }
+
+    public boolean isRemoved() {
+        return item == null;
+    }
+
+    public static String key(Long userId, Long productId) {
+        return userId + ":" + productId;
+    }
+}
@@ -2,14 +2,50 @@ package com.tempo.cart.repository;
 
 import com.tempo.cart.domain.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     List<CartItem> findByUserId(Long userId);
+    List<CartItem> findByUserIdIn(Collection<Long> userIds);
     Optional<CartItem> findByUserIdAndProductId(Long userId, Long productId);
     void deleteByUserIdAndProductId(Long userId, Long productId);
-}
\ No newline at end of file
+
+    // 상품 이름/가격 변경을 그 상품이 담긴 모든 장바구니 행에 한 문장으로 반영 (product_id 인덱스 사용)
+    // 버전을 올려 변경 전에 읽은 엔티티가 이전 가격으로 덮어쓰지 못하게 한다.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE CartItem c SET c.productName = :productName, c.price = :price, c.version = c.version + 1
+            WHERE c.productId = :productId AND (c.productName <> :productName OR c.price <> :price)
+            """)
+    int updateProductDetails(@Param("productId") Long productId,
+                             @Param("productName") String productName,
+                             @Param("price") Long price);
+
+    // 상품 변경 반영 후 캐시된 장바구니의 버전을 DB 와 맞추기 위해, UPDATE 가 실제로 남긴 버전을 읽는다
+    @Query("SELECT c.userId AS userId, c.version AS version FROM CartItem c "
+            + "WHERE c.productId = :productId AND c.userId IN :userIds")
+    List<CartItemVersion> findVersions(@Param("productId") Long productId,
+                                       @Param("userIds") Collection<Long> userIds);
+
+    // 이미 담긴 상품의 수량을 DB 에서 더한다 (읽고 고쳐 쓰지 않으므로 동시 추가에도 유실이 없다)
+    // 반영된 행이 없으면 아직 담기지 않은 상품이다.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE CartItem c SET c.quantity = c.quantity + :quantity, c.version = c.version + 1
+            WHERE c.userId = :userId AND c.productId = :productId
+            """)
+    int incrementQuantity(@Param("userId") Long userId,
+                          @Param("productId") Long productId,
+                          @Param("quantity") Integer quantity);
+}
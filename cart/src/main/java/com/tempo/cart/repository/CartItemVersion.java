@@ -0,0 +1,8 @@
+package com.tempo.cart.repository;
+
+// 장바구니 행의 현재 DB 버전 (상품 변경 반영 후 캐시 버전을 DB 와 맞추기 위한 프로젝션)
+public interface CartItemVersion {
+    Long getUserId();
+
+    Long getVersion();
+}
@@ -0,0 +1,615 @@
+package com.tempo.cart.repository;
+
+import com.tempo.cart.domain.CartItemCache;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+// 사용자별 장바구니를 Redis 해시 하나(cart:v2:{userId})로 저장
+// - 키 접두어의 v2 는 해시 형식 버전이다. 집계/단가 필드가 없는 이전 형식(cart:{userId}) 해시는 읽지도 늘리지도 않으므로
+//   남은 TTL 안에 만료되고, 그 사용자의 장바구니는 DB 에서 새 형식으로 다시 적재된다.
+// - 필드: {productId} → CartItemCache 값, q:{productId} → 수량, p:{productId} → 단가, v:{productId} → DB 버전
+// - 집계 필드: _count → 상품 종류 수, _quantity → 수량 합, _total → 금액 합(원 단위 정수) (항목을 바꾸는 스크립트 안에서 함께 증감)
+// - 역인덱스: cart:product-users:{productId} Set → 이 상품이 캐시된 장바구니의 userId (상품 변경 시 해당 장바구니만 갱신)
+//   스크립트가 쓰는 장바구니/역인덱스 키는 모두 KEYS 로 넘긴다. 한 스크립트가 여러 키를 건드리므로
+//   Redis Cluster 로 옮길 때는 해시 태그로 슬롯을 맞추거나 스크립트를 키 단위로 나눠야 한다.
+//   장바구니가 만료되어 남은 항목은 CartIndexSweeper 가 정리한다 (sweepProductIndex)
+// - 만료: 장바구니 해시 하나가 통째로 만료되며, 조회/변경할 때마다 cart.redis.ttl-seconds 로 다시 늘린다 (sliding)
+// - 조회: 스크립트(HGETALL + EXPIRE) 1회, 요약 조회: 스크립트(HMGET + EXPIRE) 1회
+// - 추가/수정/삭제: 스크립트 1회 (DB 버전이 더 높을 때만 덮어써서, 동시 요청의 반영 순서가 뒤바뀌어도 최신 값이 남는다)
+// - DB 에서 장바구니 전체를 채운 해시에는 _loaded 필드를 함께 기록한다.
+//   이 필드가 있어야 캐시 적중으로 보므로, 빈 장바구니도 DB 를 다시 조회하지 않는다 (negative cache).
+// - write-behind 모드에서는 변경된 항목을 cart:dirty Set 에 "userId:productId" 로 표시하고,
+//   CartWriteBehindFlusher 가 반영할 때마다 cart:dirty:processing:{uuid} 로 옮겨(claim) DB 에 반영한 뒤 그 키만 지운다.
+//   claim 키와 가져간 시각은 cart:dirty:claims ZSET 에 두고, 오래 끝나지 않은 claim(반영 도중 종료)은 다른 실행이 넘겨받는다.
+@Repository
+public class CartStore {
+    private static final String KEY_PREFIX = "cart:v2:";
+    private static final String META_PREFIX = "_";
+    private static final String LOADED_FIELD = "_loaded";
+    private static final String QUANTITY_PREFIX = "q:";
+    private static final String PRICE_PREFIX = "p:";
+    private static final String VERSION_PREFIX = "v:";
+    private static final String DIRTY_KEY = "cart:dirty";
+    private static final String CLAIM_KEY_PREFIX = "cart:dirty:processing:";
+    private static final String CLAIMS_KEY = "cart:dirty:claims";
+    // claim 을 인스턴스별 키로 나누기 전의 처리용 키 (남아 있으면 넘겨받아 반영한다)
+    private static final String LEGACY_CLAIM_KEY = "cart:dirty:processing";
+    private static final String PRODUCT_USERS_PREFIX = "cart:product-users:";
+    private static final int REFRESH_CHUNK_SIZE = 500;
+
+    // 금액(수량 x 단가)은 원 단위 정수다. Lua 숫자는 double 이라 2^53 을 넘으면 정수로 남지 않고,
+    // redis.call 에 숫자로 넘기면 큰 값이 지수 표기(1e+15)가 되어 HINCRBY 가 거부한다.
+    // 그래서 곱은 2^53 이내인지 확인한 뒤 정수 문자열로 만들고, _total 은 새 금액 더하기/이전 금액 빼기를 따로 HINCRBY 한다
+    // (합산은 Redis 가 64비트 정수로 한다). 범위를 넘으면 아무것도 쓰기 전에 스크립트를 오류로 끝낸다.
+    private static final String TOTAL_FUNCTIONS = """
+            local function lineTotal(quantity, price)
+              local total = tonumber(quantity) * tonumber(price)
+              if total ~= total or total < 0 or total > 9007199254740991 then
+                error('cart line total out of range: ' .. tostring(quantity) .. ' x ' .. tostring(price))
+              end
+              return string.format('%.0f', total)
+            end
+            local function subtractTotal(key, total)
+              if total ~= '0' then
+                redis.call('HINCRBY', key, '_total', '-' .. total)
+              end
+            end
+            """;
+
+    // 항목을 쓰거나 지울 때 이전 수량/단가와의 차이만큼 집계 필드를 증감하고 역인덱스(indexKey)를 함께 갱신한다.
+    // 스크립트가 건드리는 키는 모두 KEYS 로 받는다 (역인덱스 키도 스크립트 안에서 만들지 않는다).
+    // 역인덱스에 넣을 userId 는 장바구니 키 cart:v2:{userId} 에서 접두어를 떼어 쓴다.
+    private static final String ITEM_FUNCTIONS = TOTAL_FUNCTIONS
+            + "local userIdOffset = " + (KEY_PREFIX.length() + 1) + "\n" + """
+            local function setItem(key, indexKey, productId, value, quantity, price)
+              local total = lineTotal(quantity, price)
+              local oldQuantity = redis.call('HGET', key, 'q:' .. productId)
+              local oldTotal = '0'
+              if oldQuantity then
+                oldTotal = lineTotal(oldQuantity, redis.call('HGET', key, 'p:' .. productId) or price)
+              end
+              redis.call('SADD', indexKey, string.sub(key, userIdOffset))
+              if oldQuantity then
+                redis.call('HINCRBY', key, '_quantity', quantity - oldQuantity)
+              else
+                redis.call('HINCRBY', key, '_count', 1)
+                redis.call('HINCRBY', key, '_quantity', quantity)
+              end
+              redis.call('HINCRBY', key, '_total', total)
+              subtractTotal(key, oldTotal)
+              redis.call('HSET', key, productId, value, 'q:' .. productId, quantity, 'p:' .. productId, price)
+            end
+            local function removeItem(key, indexKey, productId)
+              local oldQuantity = redis.call('HGET', key, 'q:' .. productId)
+              if oldQuantity then
+                local oldTotal = lineTotal(oldQuantity, redis.call('HGET', key, 'p:' .. productId) or 0)
+                redis.call('HINCRBY', key, '_count', -1)
+                redis.call('HINCRBY', key, '_quantity', -oldQuantity)
+                subtractTotal(key, oldTotal)
+              end
+              redis.call('HDEL', key, productId, 'q:' .. productId, 'p:' .. productId, 'v:' .. productId)
+              redis.call('SREM', indexKey, string.sub(key, userIdOffset))
+            end
+            """;
+
+    // KEYS: 장바구니 키, 삭제할 상품의 역인덱스 키 n개, 이후 항목마다 역인덱스 키 (ARGV 와 같은 순서)
+    // ARGV: TTL(초), 적재 표시 여부, 삭제할 상품 수(n), 삭제할 productId n개, 이후 항목마다 [productId, 값, 수량, 단가, 버전]
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>(ITEM_FUNCTIONS + """
+            local removed = tonumber(ARGV[3])
+            for i = 1, removed do
+              removeItem(KEYS[1], KEYS[1 + i], ARGV[3 + i])
+            end
+            local k = 2 + removed
+            for i = 4 + removed, #ARGV, 5 do
+              local current = tonumber(redis.call('HGET', KEYS[1], 'v:' .. ARGV[i]) or '-1')
+              if tonumber(ARGV[i + 4]) > current then
+                setItem(KEYS[1], KEYS[k], ARGV[i], ARGV[i + 1], ARGV[i + 2], ARGV[i + 3])
+                redis.call('HSET', KEYS[1], 'v:' .. ARGV[i], ARGV[i + 4])
+              end
+              k = k + 1
+            end
+            if ARGV[2] == '1' then
+              redis.call('HSET', KEYS[1], '_loaded', '')
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    // write-behind 수량 증가: 적재된 장바구니에만 반영하고 증가 후 수량을 반환 (적재 전이면 nil)
+    // 이미 담긴 상품이면 기존 값과 단가를 유지한다.
+    // KEYS: 장바구니 키, cart:dirty, 역인덱스 키 / ARGV: productId, 새 항목 값, 증가량, TTL(초), dirty 멤버, 단가
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(ITEM_FUNCTIONS + """
+            if redis.call('HEXISTS', KEYS[1], '_loaded') == 0 then
+              return false
+            end
+            local value = redis.call('HGET', KEYS[1], ARGV[1]) or ARGV[2]
+            local price = redis.call('HGET', KEYS[1], 'p:' .. ARGV[1]) or ARGV[6]
+            local quantity = tonumber(redis.call('HGET', KEYS[1], 'q:' .. ARGV[1]) or '0') + tonumber(ARGV[3])
+            setItem(KEYS[1], KEYS[3], ARGV[1], value, quantity, price)
+            redis.call('EXPIRE', KEYS[1], ARGV[4])
+            redis.call('SADD', KEYS[2], ARGV[5])
+            return quantity
+            """, Long.class);
+
+    // write-behind 항목 변경: KEYS: 장바구니 키, cart:dirty, 역인덱스 키 / ARGV: productId, 값, 수량, 단가, TTL(초), dirty 멤버
+    private static final RedisScript<Long> SET_DIRTY_SCRIPT = new DefaultRedisScript<>(ITEM_FUNCTIONS + """
+            setItem(KEYS[1], KEYS[3], ARGV[1], ARGV[2], ARGV[3], ARGV[4])
+            redis.call('EXPIRE', KEYS[1], ARGV[5])
+            redis.call('SADD', KEYS[2], ARGV[6])
+            return 1
+            """, Long.class);
+
+    // 항목 삭제: KEYS: 장바구니 키, 역인덱스 키[, cart:dirty] / ARGV: productId[, dirty 멤버]
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>(ITEM_FUNCTIONS + """
+            removeItem(KEYS[1], KEYS[2], ARGV[1])
+            if #KEYS > 2 then
+              redis.call('SADD', KEYS[3], ARGV[2])
+            end
+            return 1
+            """, Long.class);
+
+    // 조회하면서 만료 시간을 늘린다 (없는 키면 빈 목록)
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>("""
+            local entries = redis.call('HGETALL', KEYS[1])
+            if #entries > 0 then
+              redis.call('EXPIRE', KEYS[1], ARGV[1])
+            end
+            return entries
+            """, List.class);
+
+    // 집계 필드만 읽으면서 만료 시간을 늘린다 (적재된 장바구니일 때만)
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SUMMARY_SCRIPT = new DefaultRedisScript<>("""
+            local values = redis.call('HMGET', KEYS[1], '_loaded', '_count', '_quantity', '_total')
+            if values[1] then
+              redis.call('EXPIRE', KEYS[1], ARGV[1])
+            end
+            return values
+            """, List.class);
+
+    // 역인덱스에서 해시가 사라진(만료된) 장바구니를 뺀다. 확인과 삭제를 한 번에 해서 그 사이 다시 담긴 장바구니를 지우지 않는다.
+    // KEYS: 역인덱스 키, 이후 userId 마다 장바구니 키 / ARGV: userId 목록 (KEYS[i + 1] 이 ARGV[i] 의 장바구니)
+    private static final RedisScript<Long> SWEEP_INDEX_SCRIPT = new DefaultRedisScript<>("""
+            local removed = 0
+            for i = 1, #ARGV do
+              if redis.call('EXISTS', KEYS[i + 1]) == 0 then
+                removed = removed + redis.call('SREM', KEYS[1], ARGV[i])
+              end
+            end
+            return removed
+            """, Long.class);
+
+    // 상품 이름/가격 변경 반영: KEYS: 역인덱스 키, 이후 사용자마다 장바구니 키
+    // ARGV: productId, 새 단가, 이후 사용자마다 [userId, 새 항목 값, DB 버전] (KEYS 와 같은 순서)
+    // 장바구니에 더 이상 그 상품이 없으면(만료, 삭제) 역인덱스에서 뺀다.
+    // v: 는 임의로 올리지 않고 UPDATE 후 DB 에 남은 버전으로 맞춘다. 이미 같은 값이라 DB 행이 바뀌지 않았거나
+    // 같은 이벤트가 다시 와도 캐시 버전이 DB 보다 앞서지 않아야, 이후 write-through(PUT_SCRIPT)가 건너뛰어지지 않는다.
+    // 그 사이 다른 요청이 더 높은 버전을 써 두었으면 그대로 둔다.
+    private static final RedisScript<Long> REFRESH_PRODUCT_SCRIPT = new DefaultRedisScript<>(TOTAL_FUNCTIONS + """
+            local refreshed = 0
+            local k = 2
+            for i = 3, #ARGV, 3 do
+              local key = KEYS[k]
+              k = k + 1
+              local quantity = redis.call('HGET', key, 'q:' .. ARGV[1])
+              if quantity and ARGV[i + 1] ~= '' then
+                local oldTotal = lineTotal(quantity, redis.call('HGET', key, 'p:' .. ARGV[1]) or ARGV[2])
+                redis.call('HINCRBY', key, '_total', lineTotal(quantity, ARGV[2]))
+                subtractTotal(key, oldTotal)
+                redis.call('HSET', key, ARGV[1], ARGV[i + 1], 'p:' .. ARGV[1], ARGV[2])
+                local current = redis.call('HGET', key, 'v:' .. ARGV[1])
+                if current and ARGV[i + 2] ~= '' and tonumber(ARGV[i + 2]) > tonumber(current) then
+                  redis.call('HSET', key, 'v:' .. ARGV[1], ARGV[i + 2])
+                end
+                refreshed = refreshed + 1
+              else
+                redis.call('SREM', KEYS[1], ARGV[i])
+              end
+            end
+            return refreshed
+            """, Long.class);
+
+    // 반영 대상 목록을 새 claim 키로 옮기고 가져간 시각을 기록 (대상이 없으면 0)
+    // KEYS: cart:dirty, 새 claim 키, cart:dirty:claims / ARGV: 현재 시각(ms)
+    private static final RedisScript<Long> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return 0
+            end
+            redis.call('RENAME', KEYS[1], KEYS[2])
+            redis.call('ZADD', KEYS[3], ARGV[1], KEYS[2])
+            return 1
+            """, Long.class);
+
+    // 기한이 지난 claim 을 새 claim 키로 넘겨받는다. RENAME 으로 이전 키가 사라지므로 여러 실행이 겹쳐도 한 곳만 가져간다.
+    // 기록된 시각이 없는 키(이전 버전의 처리용 키)는 기한이 지난 것으로 본다.
+    // KEYS: cart:dirty:claims, 이전 claim 키, 새 claim 키 / ARGV: 현재 시각(ms), 기한(이 시각 이전에 가져간 claim)
+    private static final RedisScript<Long> TAKE_OVER_SCRIPT = new DefaultRedisScript<>("""
+            local claimedAt = redis.call('ZSCORE', KEYS[1], KEYS[2])
+            if claimedAt and tonumber(claimedAt) > tonumber(ARGV[2]) then
+              return 0
+            end
+            redis.call('ZREM', KEYS[1], KEYS[2])
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+              return 0
+            end
+            redis.call('RENAME', KEYS[2], KEYS[3])
+            redis.call('ZADD', KEYS[1], ARGV[1], KEYS[3])
+            return 1
+            """, Long.class);
+
+    // 반영이 끝난 claim 만 지운다. KEYS: claim 키, cart:dirty:claims
+    private static final RedisScript<Long> COMPLETE_CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            redis.call('ZREM', KEYS[2], KEYS[1])
+            return 1
+            """, Long.class);
+
+    private static final RedisSerializer<Long> LONG_RESULT = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, CartItemCache> redisTemplate;
+    private final RedisSerializer<CartItemCache> valueSerializer;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long ttlSeconds;
+
+    public CartStore(@Qualifier("cartRedisTemplate") RedisTemplate<String, CartItemCache> redisTemplate,
+                     RedisSerializer<CartItemCache> cartItemCacheSerializer,
+                     StringRedisTemplate stringRedisTemplate,
+                     @Value("${cart.redis.ttl-seconds:86400}") long ttlSeconds) {
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("cart.redis.ttl-seconds는 0보다 커야 합니다.");
+        }
+        this.redisTemplate = redisTemplate;
+        this.valueSerializer = cartItemCacheSerializer;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    // 전체 장바구니가 캐시되어 있지 않으면 Optional.empty()
+    public Optional<List<CartItemCache>> findByUserId(Long userId) {
+        @SuppressWarnings("unchecked")
+        List<byte[]> entries = redisTemplate.execute(READ_SCRIPT, RedisSerializer.byteArray(), RedisSerializer.byteArray(),
+                List.of(key(userId)), raw(String.valueOf(ttlSeconds)));
+        if (entries == null || entries.isEmpty()) {
+            return Optional.empty();
+        }
+
+        boolean loaded = false;
+        Map<String, CartItemCache> items = new LinkedHashMap<>();
+        Map<String, Integer> quantities = new HashMap<>();
+        for (int i = 0; i < entries.size(); i += 2) {
+            Map.Entry<byte[], byte[]> entry = Map.entry(entries.get(i), entries.get(i + 1));
+            String field = string(entry.getKey());
+            if (LOADED_FIELD.equals(field)) {
+                loaded = true;
+            } else if (field.startsWith(QUANTITY_PREFIX)) {
+                quantities.put(field.substring(QUANTITY_PREFIX.length()), Integer.valueOf(string(entry.getValue())));
+            } else if (!field.startsWith(META_PREFIX) && !field.startsWith(PRICE_PREFIX)
+                    && !field.startsWith(VERSION_PREFIX)) {
+                items.put(field, valueSerializer.deserialize(entry.getValue()));
+            }
+        }
+        if (!loaded) {
+            return Optional.empty();
+        }
+
+        List<CartItemCache> result = new ArrayList<>(items.size());
+        items.forEach((productId, item) -> {
+            Integer quantity = quantities.get(productId);
+            if (quantity != null) {
+                item.updateQuantity(quantity);
+                result.add(item);
+            }
+        });
+        return Optional.of(result);
+    }
+
+    // 집계 필드만 읽고 조회와 같이 만료 시간을 늘린다 (전체 장바구니가 캐시되어 있지 않으면 Optional.empty())
+    public Optional<CartSummary> findSummary(Long userId) {
+        @SuppressWarnings("unchecked")
+        List<String> values = stringRedisTemplate.execute(SUMMARY_SCRIPT, List.of(key(userId)), String.valueOf(ttlSeconds));
+        if (values == null || values.get(0) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new CartSummary(userId, parseLong(values.get(1)), parseLong(values.get(2)),
+                parseLong(values.get(3))));
+    }
+
+    // DB 에 반영된 항목을 캐시에 기록 (캐시에 더 최신 버전이 있으면 무시)
+    public void save(CartItemCache item) {
+        put(item.getUserId(), List.of(item), List.of(), false);
+    }
+
+    // DB 에서 읽은 장바구니 전체를 적재 표시와 함께 스크립트 한 번으로 기록 (빈 장바구니면 표시만 기록)
+    public void saveLoaded(Long userId, Collection<CartItemCache> items) {
+        put(userId, items, List.of(), true);
+    }
+
+    // 일괄 변경 결과(DB 의 장바구니 전체)와 삭제된 상품을 스크립트 한 번으로 기록
+    public void saveBatch(Long userId, Collection<CartItemCache> items, Collection<Long> removedProductIds) {
+        put(userId, items, removedProductIds, true);
+    }
+
+    public void delete(Long userId, Long productId) {
+        redisTemplate.execute(REMOVE_SCRIPT, RedisSerializer.byteArray(), LONG_RESULT,
+                List.of(key(userId), productUsersKey(productId)), raw(field(productId)));
+    }
+
+    // write-behind: 수량을 원자적으로 더하고 DB 반영 대상으로 표시 (장바구니가 적재되지 않았으면 null)
+    public Long incrementDirty(CartItemCache item, int delta) {
+        return redisTemplate.execute(INCREMENT_SCRIPT, RedisSerializer.byteArray(), LONG_RESULT,
+                List.of(key(item.getUserId()), DIRTY_KEY, productUsersKey(item.getProductId())),
+                raw(field(item.getProductId())),
+                valueSerializer.serialize(item),
+                raw(String.valueOf(delta)),
+                raw(String.valueOf(ttlSeconds)),
+                rawDirtyMember(item.getUserId(), item.getProductId()),
+                raw(String.valueOf(item.getPrice())));
+    }
+
+    // write-behind: 항목 변경과 DB 반영 대상 표시를 스크립트 한 번으로 기록
+    public void saveDirty(CartItemCache item) {
+        redisTemplate.execute(SET_DIRTY_SCRIPT, RedisSerializer.byteArray(), LONG_RESULT,
+                List.of(key(item.getUserId()), DIRTY_KEY, productUsersKey(item.getProductId())),
+                raw(field(item.getProductId())),
+                valueSerializer.serialize(item),
+                raw(String.valueOf(item.getQuantity())),
+                raw(String.valueOf(item.getPrice())),
+                raw(String.valueOf(ttlSeconds)),
+                rawDirtyMember(item.getUserId(), item.getProductId()));
+    }
+
+    // write-behind: 항목 삭제와 DB 반영 대상 표시를 스크립트 한 번으로 기록
+    public void deleteDirty(Long userId, Long productId) {
+        redisTemplate.execute(REMOVE_SCRIPT, RedisSerializer.byteArray(), LONG_RESULT,
+                List.of(key(userId), productUsersKey(productId), DIRTY_KEY),
+                raw(field(productId)),
+                rawDirtyMember(userId, productId));
+    }
+
+    // 역인덱스의 장바구니마다 해당 상품의 이름/가격을 바꾸고 갱신된 userId 를 반환한다.
+    // 사용자 REFRESH_CHUNK_SIZE 명 단위로 값 조회 파이프라인 1회 + DB 버전 조회 1회(dbVersions) + 스크립트 1회
+    public List<Long> refreshProduct(Long productId, String productName, Long price,
+                                     Function<Collection<Long>, Map<Long, Long>> dbVersions) {
+        String usersKey = productUsersKey(productId);
+        Set<String> members = stringRedisTemplate.opsForSet().members(usersKey);
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> userIds = members.stream().map(Long::valueOf).toList();
+        List<Long> refreshed = new ArrayList<>();
+        byte[] rawField = raw(field(productId));
+        for (int from = 0; from < userIds.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, userIds.size()));
+            List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long userId : chunk) {
+                    connection.hashCommands().hGet(rawKey(userId), rawField);
+                }
+                return null;
+            }, RedisSerializer.byteArray());
+            Map<Long, Long> versions = dbVersions.apply(chunk);
+
+            List<String> keys = new ArrayList<>(1 + chunk.size());
+            keys.add(usersKey);
+            List<byte[]> args = new ArrayList<>(2 + chunk.size() * 3);
+            args.add(rawField);
+            args.add(raw(String.valueOf(price)));
+            for (int i = 0; i < chunk.size(); i++) {
+                CartItemCache item = valueSerializer.deserialize((byte[]) values.get(i));
+                keys.add(key(chunk.get(i)));
+                args.add(raw(String.valueOf(chunk.get(i))));
+                if (item == null) {
+                    args.add(new byte[0]);
+                    args.add(new byte[0]);
+                    continue;
+                }
+                item.updateProduct(productName, price);
+                args.add(valueSerializer.serialize(item));
+                Long version = versions.get(chunk.get(i));
+                args.add(version != null ? raw(String.valueOf(version)) : new byte[0]);
+                refreshed.add(chunk.get(i));
+            }
+            redisTemplate.execute(REFRESH_PRODUCT_SCRIPT, RedisSerializer.byteArray(), LONG_RESULT,
+                    keys, args.toArray());
+        }
+        return refreshed;
+    }
+
+    // 역인덱스 키를 SCAN 으로 훑으며 만료된 장바구니를 뺀다 (빈 Set 은 Redis 가 자동으로 지움). 뺀 항목 수를 반환한다.
+    public long sweepProductIndex(int chunkSize) {
+        long removed = 0;
+        ScanOptions keyScan = ScanOptions.scanOptions().match(PRODUCT_USERS_PREFIX + "*").count(chunkSize).build();
+        try (Cursor<String> keys = stringRedisTemplate.scan(keyScan)) {
+            while (keys.hasNext()) {
+                String usersKey = keys.next();
+                List<String> chunk = new ArrayList<>(chunkSize);
+                try (Cursor<String> members = stringRedisTemplate.opsForSet()
+                        .scan(usersKey, ScanOptions.scanOptions().count(chunkSize).build())) {
+                    while (members.hasNext()) {
+                        chunk.add(members.next());
+                        if (chunk.size() == chunkSize) {
+                            removed += sweep(usersKey, chunk);
+                            chunk.clear();
+                        }
+                    }
+                }
+                removed += sweep(usersKey, chunk);
+            }
+        }
+        return removed;
+    }
+
+    private long sweep(String usersKey, List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        List<String> keys = new ArrayList<>(1 + userIds.size());
+        keys.add(usersKey);
+        for (String userId : userIds) {
+            keys.add(KEY_PREFIX + userId);
+        }
+        Long removed = stringRedisTemplate.execute(SWEEP_INDEX_SCRIPT, keys, userIds.toArray());
+        return removed != null ? removed : 0;
+    }
+
+    // DB 반영 대상 목록을 이번 반영 전용 claim 키로 옮기고 그 키를 돌려준다 (대상이 없으면 Optional.empty()).
+    // 이후 변경은 새 cart:dirty 에 쌓이고, 다른 인스턴스는 같은 목록을 가져가지 못한다.
+    public Optional<String> claimDirty() {
+        String claimKey = newClaimKey();
+        Long claimed = stringRedisTemplate.execute(CLAIM_SCRIPT, List.of(DIRTY_KEY, claimKey, CLAIMS_KEY),
+                String.valueOf(System.currentTimeMillis()));
+        return Long.valueOf(1).equals(claimed) ? Optional.of(claimKey) : Optional.empty();
+    }
+
+    // claimTimeout 이 지나도록 끝나지 않은 claim(반영 도중 종료된 인스턴스의 것)을 넘겨받아 새 claim 키 목록을 돌려준다.
+    public List<String> takeOverStaleClaims(Duration claimTimeout) {
+        long now = System.currentTimeMillis();
+        long staleBefore = now - claimTimeout.toMillis();
+        List<String> candidates = new ArrayList<>();
+        Set<String> stale = stringRedisTemplate.opsForZSet().rangeByScore(CLAIMS_KEY, 0, staleBefore);
+        if (stale != null) {
+            candidates.addAll(stale);
+        }
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(LEGACY_CLAIM_KEY))) {
+            candidates.add(LEGACY_CLAIM_KEY);
+        }
+
+        List<String> taken = new ArrayList<>();
+        for (String staleKey : candidates) {
+            String claimKey = newClaimKey();
+            Long result = stringRedisTemplate.execute(TAKE_OVER_SCRIPT, List.of(CLAIMS_KEY, staleKey, claimKey),
+                    String.valueOf(now), String.valueOf(staleBefore));
+            if (Long.valueOf(1).equals(result)) {
+                taken.add(claimKey);
+            }
+        }
+        return taken;
+    }
+
+    public Set<String> findClaimedDirty(String claimKey) {
+        Set<String> members = stringRedisTemplate.opsForSet().members(claimKey);
+        return members != null ? members : Set.of();
+    }
+
+    // DB 반영이 끝난 뒤에 자신이 가져간 claim 키만 지운다.
+    public void completeClaim(String claimKey) {
+        stringRedisTemplate.execute(COMPLETE_CLAIM_SCRIPT, List.of(claimKey, CLAIMS_KEY));
+    }
+
+    // 반영 대상 항목의 현재 값, 수량과 장바구니 적재 여부를 한 번의 파이프라인으로 조회
+    public List<CartDirtyItem> findDirtyItems(List<String> members) {
+        byte[] rawLoadedField = raw(LOADED_FIELD);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String member : members) {
+                String[] ids = member.split(":");
+                byte[] rawKey = rawKey(Long.valueOf(ids[0]));
+                connection.hashCommands().hGet(rawKey, raw(ids[1]));
+                connection.hashCommands().hGet(rawKey, raw(QUANTITY_PREFIX + ids[1]));
+                connection.hashCommands().hExists(rawKey, rawLoadedField);
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+
+        List<CartDirtyItem> items = new ArrayList<>(members.size());
+        for (int i = 0; i < members.size(); i++) {
+            String[] ids = members.get(i).split(":");
+            CartItemCache item = valueSerializer.deserialize((byte[]) results.get(i * 3));
+            byte[] quantity = (byte[]) results.get(i * 3 + 1);
+            if (item != null && quantity != null) {
+                item.updateQuantity(Integer.valueOf(string(quantity)));
+            } else {
+                item = null;
+            }
+            items.add(new CartDirtyItem(Long.valueOf(ids[0]), Long.valueOf(ids[1]),
+                    item, Boolean.TRUE.equals(results.get(i * 3 + 2))));
+        }
+        return items;
+    }
+
+    private void put(Long userId, Collection<CartItemCache> items, Collection<Long> removedProductIds, boolean loaded) {
+        if (items.isEmpty() && removedProductIds.isEmpty() && !loaded) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(1 + removedProductIds.size() + items.size());
+        keys.add(key(userId));
+        List<byte[]> args = new ArrayList<>(3 + removedProductIds.size() + items.size() * 5);
+        args.add(raw(String.valueOf(ttlSeconds)));
+        args.add(raw(loaded ? "1" : "0"));
+        args.add(raw(String.valueOf(removedProductIds.size())));
+        for (Long productId : removedProductIds) {
+            keys.add(productUsersKey(productId));
+            args.add(raw(field(productId)));
+        }
+        for (CartItemCache item : items) {
+            keys.add(productUsersKey(item.getProductId()));
+            args.add(raw(field(item.getProductId())));
+            args.add(valueSerializer.serialize(item));
+            args.add(raw(String.valueOf(item.getQuantity())));
+            args.add(raw(String.valueOf(item.getPrice())));
+            args.add(raw(String.valueOf(item.getVersion() != null ? item.getVersion() : 0L)));
+        }
+
+        redisTemplate.execute(PUT_SCRIPT, RedisSerializer.byteArray(), LONG_RESULT,
+                keys, args.toArray());
+    }
+
+    static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static String newClaimKey() {
+        return CLAIM_KEY_PREFIX + UUID.randomUUID();
+    }
+
+    private static String productUsersKey(Long productId) {
+        return PRODUCT_USERS_PREFIX + productId;
+    }
+
+    private static String field(Long productId) {
+        return productId.toString();
+    }
+
+    private static byte[] rawKey(Long userId) {
+        return raw(key(userId));
+    }
+
+    private static byte[] rawDirtyMember(Long userId, Long productId) {
+        return raw(CartDirtyItem.key(userId, productId));
+    }
+
+    private static long parseLong(String value) {
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+
+    private static byte[] raw(String value) {
+        return StringRedisSerializer.UTF_8.serialize(value);
+    }
+
+    private static String string(byte[] value) {
+        return StringRedisSerializer.UTF_8.deserialize(value);
+    }
+}
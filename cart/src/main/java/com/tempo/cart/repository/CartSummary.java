@@ -0,0 +1,19 @@
+package com.tempo.cart.repository;
+
+import lombok.Getter;
+
+// Redis 장바구니 해시에 유지되는 집계 값
+@Getter
+public class CartSummary {
+    private final Long userId;
+    private final long itemCount;       // 상품 종류 수
+    private final long totalQuantity;   // 수량 합
+    private final long totalPrice;      // 금액 합 (단가 * 수량)
+
+    public CartSummary(Long userId, long itemCount, long totalQuantity, long totalPrice) {
+        this.userId = userId;
+        this.itemCount = itemCount;
+        this.totalQuantity = totalQuantity;
+        this.totalPrice = totalPrice;
+    }
+}
@@ -0,0 +1,36 @@
+package com.tempo.cart.service;
+
+import com.tempo.cart.repository.CartStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 장바구니 해시는 통째로 만료되지만 상품→장바구니 역인덱스(cart:product-users:*)에는 userId 가 남으므로 주기적으로 정리
+// 여러 인스턴스가 동시에 돌아도 결과는 같다 (확인과 삭제를 스크립트 하나로 처리)
+@Slf4j
+@Component
+public class CartIndexSweeper {
+    private final CartStore cartStore;
+    private final int chunkSize;
+
+    public CartIndexSweeper(CartStore cartStore,
+                            @Value("${cart.redis.index-sweep.chunk-size:500}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("cart.redis.index-sweep.chunk-size는 0보다 커야 합니다.");
+        }
+        this.cartStore = cartStore;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${cart.redis.index-sweep.interval-ms:600000}",
+            initialDelayString = "${cart.redis.index-sweep.interval-ms:600000}")
+    public void sweep() {
+        try {
+            long removed = cartStore.sweepProductIndex(chunkSize);
+            log.info("장바구니 역인덱스 정리 완료 - removed: {}", removed);
+        } catch (RuntimeException e) {
+            log.warn("장바구니 역인덱스 정리 실패 - error: {}", e.getMessage());
+        }
+    }
+}
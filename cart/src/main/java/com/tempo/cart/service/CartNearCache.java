@@ -0,0 +1,142 @@
+package com.tempo.cart.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tempo.cart.dto.CartItemResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 사용자별 장바구니 조회 결과를 JVM 안에 잠깐 보관하는 near cache (Redis 앞단)
+// - 같은 사용자의 동시 조회는 하나의 적재로 합쳐지고, 적재 중 무효화되면 적재 결과는 버려진다 (Caffeine compute 잠금)
+// - 변경 시 로컬 항목을 지우고 cart:near-cache:invalidate 채널로 다른 인스턴스에 알린다
+// - pub/sub 메시지는 유실될 수 있으므로 TTL(cart.near-cache.ttl-ms)로 최대 지연을 제한한다
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cart.near-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CartNearCache implements MessageListener {
+    public static final String INVALIDATION_CHANNEL = "cart:near-cache:invalidate";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Cache<Long, Entry> cache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Timer entryAge;
+    private final Timer invalidationLag;
+    private final Counter localInvalidations;
+    private final Counter remoteInvalidations;
+
+    public CartNearCache(StringRedisTemplate stringRedisTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${cart.near-cache.ttl-ms:5000}") long ttlMillis,
+                         @Value("${cart.near-cache.max-size:10000}") long maxSize) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss} 로 적중률을 본다
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "cart-near-cache");
+        // 적중 시 내준 항목이 적재된 지 얼마나 지났는지 (최대 TTL)
+        this.entryAge = Timer.builder("cart.near-cache.entry.age")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        // 다른 인스턴스의 변경이 이 인스턴스에서 무효화되기까지 걸린 시간
+        this.invalidationLag = Timer.builder("cart.near-cache.invalidation.lag")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.localInvalidations = Counter.builder("cart.near-cache.invalidations")
+                .tag("source", "local")
+                .register(meterRegistry);
+        this.remoteInvalidations = Counter.builder("cart.near-cache.invalidations")
+                .tag("source", "remote")
+                .register(meterRegistry);
+    }
+
+    public List<CartItemResponse> get(Long userId, Function<Long, List<CartItemResponse>> loader) {
+        long requestedAt = System.nanoTime();
+        Entry entry = cache.get(userId, id -> new Entry(List.copyOf(loader.apply(id)), System.nanoTime()));
+        if (entry.loadedAt() < requestedAt) {
+            entryAge.record(requestedAt - entry.loadedAt(), TimeUnit.NANOSECONDS);
+            log.debug("near cache 적중 - userId: {}", userId);
+        }
+        return entry.items();
+    }
+
+    // 트랜잭션 안이면 커밋 뒤에 무효화해, 커밋 전 값을 다시 적재하는 일이 없게 한다.
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateAndPublish(userId);
+                }
+            });
+            return;
+        }
+        invalidateAndPublish(userId);
+    }
+
+    // 상품 변경처럼 여러 장바구니가 한꺼번에 바뀐 경우 메시지 하나로 알린다.
+    public void invalidateAll(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        cache.invalidateAll(userIds);
+        localInvalidations.increment(userIds.size());
+        publish(userIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    // 메시지: {userId[,userId...]}:{발행 시각(ms)}:{발행 인스턴스}
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 3 || instanceId.equals(parts[2])) {
+            return;
+        }
+        List<Long> userIds = Arrays.stream(parts[0].split(",")).map(Long::valueOf).toList();
+        cache.invalidateAll(userIds);
+        remoteInvalidations.increment(userIds.size());
+        invalidationLag.record(Math.max(0, System.currentTimeMillis() - Long.parseLong(parts[1])), TimeUnit.MILLISECONDS);
+        log.debug("near cache 원격 무효화 - userIds: {}", parts[0]);
+    }
+
+    private void invalidateAndPublish(Long userId) {
+        cache.invalidate(userId);
+        localInvalidations.increment();
+        publish(userId.toString());
+    }
+
+    private void publish(String userIds) {
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+                    userIds + ":" + System.currentTimeMillis() + ":" + instanceId);
+        } catch (RuntimeException e) {
+            // 발행에 실패해도 다른 인스턴스는 TTL 이 지나면 새 값을 읽는다
+            log.warn("near cache 무효화 발행 실패 - userIds: {}, error: {}", userIds, e.getMessage());
+        }
+    }
+
+    private record Entry(List<CartItemResponse> items, long loadedAt) {
+    }
+}
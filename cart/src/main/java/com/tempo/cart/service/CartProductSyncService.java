@@ -0,0 +1,38 @@
+package com.tempo.cart.service;
+
+import com.tempo.cart.repository.CartItemRepository;
+import com.tempo.cart.repository.CartItemVersion;
+import com.tempo.cart.repository.CartStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// 상품 서비스의 이름/가격 변경을 장바구니에 반영
+// - DB: product_id 인덱스로 해당 상품 행만 UPDATE 한 문장
+// - Redis: 역인덱스(cart:product-users:{productId})에 있는 캐시된 장바구니만 갱신 (버전은 UPDATE 후 DB 값으로 맞춤)
+// 장바구니 조회는 계속 Redis 한 번으로 끝나고 상품 서비스를 호출하지 않는다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartProductSyncService {
+    private final CartItemRepository cartItemRepository;
+    private final CartStore cartStore;
+    private final Optional<CartNearCache> nearCache;
+
+    public void applyProductChange(Long productId, String productName, Long price) {
+        log.info("장바구니 상품 정보 갱신 시작 - productId: {}, name: {}, price: {}", productId, productName, price);
+
+        int updatedRows = cartItemRepository.updateProductDetails(productId, productName, price);
+        List<Long> refreshedUsers = cartStore.refreshProduct(productId, productName, price,
+                userIds -> cartItemRepository.findVersions(productId, userIds).stream()
+                        .collect(Collectors.toMap(CartItemVersion::getUserId, CartItemVersion::getVersion)));
+        nearCache.ifPresent(cache -> cache.invalidateAll(refreshedUsers));
+
+        log.info("장바구니 상품 정보 갱신 완료 - productId: {}, dbRows: {}, cachedCarts: {}",
+                productId, updatedRows, refreshedUsers.size());
+    }
+}
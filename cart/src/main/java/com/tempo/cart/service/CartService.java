@@ -2,90 +2,193 @@ package com.tempo.cart.service;
 
 import com.tempo.cart.domain.CartItem;
 import com.tempo.cart.domain.CartItemCache;
+import com.tempo.cart.domain.CartOperationType;
+import com.tempo.cart.dto.CartBatchRequest;
 import com.tempo.cart.dto.CartItemRequest;
 import com.tempo.cart.dto.CartItemResponse;
-import com.tempo.cart.repository.CartItemCacheRepository;
+import com.tempo.cart.dto.CartOperationRequest;
+import com.tempo.cart.dto.CartSummaryResponse;
 import com.tempo.cart.repository.CartItemRepository;
-import lombok.RequiredArgsConstructor;
+import com.tempo.cart.repository.CartStore;
+import com.tempo.cart.repository.CartSummary;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class CartService {
     private final CartItemRepository cartItemRepository;
-    private final CartItemCacheRepository cacheRepository;
+    private final CartStore cartStore;
+    private final Optional<CartWriteBehindFlusher> writeBehindFlusher;
+    private final Optional<CartNearCache> nearCache;
+    private final int maxBatchOperations;
+
+    public CartService(CartItemRepository cartItemRepository,
+                       CartStore cartStore,
+                       Optional<CartWriteBehindFlusher> writeBehindFlusher,
+                       Optional<CartNearCache> nearCache,
+                       @Value("${cart.batch.max-operations:200}") int maxBatchOperations) {
+        this.cartItemRepository = cartItemRepository;
+        this.cartStore = cartStore;
+        this.writeBehindFlusher = writeBehindFlusher;
+        this.nearCache = nearCache;
+        this.maxBatchOperations = maxBatchOperations;
+    }
 
     @Transactional(readOnly = true)
     public List<CartItemResponse> getCartItems(Long userId) {
         log.info("장바구니 조회 시작 - userId: {}", userId);
+        // 같은 사용자의 반복 조회는 near cache 에서 바로 응답 (변경 시 무효화)
+        return nearCache.map(cache -> cache.get(userId, this::loadCartResponses))
+                .orElseGet(() -> loadCartResponses(userId));
+    }
 
-        // 1. 캐시에서 먼저 조회
-        List<CartItemCache> cachedItems = cacheRepository.findByUserId(userId);
-        if (!cachedItems.isEmpty()) {
-            log.info("캐시에서 장바구니 데이터 조회 성공 - userId: {}", userId);
-            return cachedItems.stream()
-                    .map(CartItemResponse::fromCache)
-                    .collect(Collectors.toList());
+    // 미니 장바구니용 요약: Redis 해시의 집계 필드만 읽는다 (캐시에 없으면 장바구니를 적재하며 계산)
+    @Transactional(readOnly = true)
+    public CartSummaryResponse getCartSummary(Long userId) {
+        log.info("장바구니 요약 조회 시작 - userId: {}", userId);
+        CartSummary summary = cartStore.findSummary(userId)
+                .orElseGet(() -> summarize(userId, loadCart(userId)));
+        return CartSummaryResponse.from(summary);
+    }
+
+    private CartSummary summarize(Long userId, List<CartItemCache> items) {
+        long totalQuantity = 0;
+        long totalPrice = 0;
+        for (CartItemCache item : items) {
+            totalQuantity += item.getQuantity();
+            totalPrice += item.getPrice() * item.getQuantity();
         }
+        return new CartSummary(userId, items.size(), totalQuantity, totalPrice);
+    }
+
+    private List<CartItemResponse> loadCartResponses(Long userId) {
+        return loadCart(userId).stream()
+                .map(CartItemResponse::fromCache)
+                .collect(Collectors.toList());
+    }
 
-        // 2. DB에서 조회하고 캐시 갱신
-        List<CartItem> items = cartItemRepository.findByUserId(userId);
-        items.forEach(item -> cacheRepository.save(CartItemCache.fromEntity(item)));
-        log.info("DB에서 장바구니 데이터 조회 및 캐시 갱신 완료 - userId: {}", userId);
+    private void invalidateNearCache(Long userId) {
+        nearCache.ifPresent(cache -> cache.invalidate(userId));
+    }
 
-        return items.stream()
-                .map(CartItemResponse::fromEntity)
+    // 캐시된 장바구니를 반환하고, 없으면 DB에서 읽어 캐시를 채운다.
+    private List<CartItemCache> loadCart(Long userId) {
+        // 1. 캐시에서 먼저 조회 (사용자 해시 HGETALL 1회, 빈 장바구니도 적재 표시가 있으면 적중)
+        Optional<List<CartItemCache>> cachedItems = cartStore.findByUserId(userId);
+        if (cachedItems.isPresent()) {
+            log.info("캐시에서 장바구니 데이터 조회 성공 - userId: {}", userId);
+            return cachedItems.get();
+        }
+
+        // 2. DB에서 조회하고 캐시를 파이프라인 한 번으로 채움
+        List<CartItemCache> items = cartItemRepository.findByUserId(userId).stream()
+                .map(CartItemCache::fromEntity)
                 .collect(Collectors.toList());
+        cartStore.saveLoaded(userId, items);
+        log.info("DB에서 장바구니 데이터 조회 및 캐시 갱신 완료 - userId: {}, itemCount: {}", userId, items.size());
+        return items;
     }
 
-    @Transactional
+    private Optional<CartItemCache> findCachedItem(Long userId, Long productId) {
+        return loadCart(userId).stream()
+                .filter(item -> item.getProductId().equals(productId))
+                .findFirst();
+    }
+
+    // 수량 증가는 저장소마다 한 번의 원자적 연산으로 처리해 동시 추가에도 수량이 유실되지 않는다.
+    // - DB: 조건부 UPDATE 로 수량을 더하고, 없는 상품이면 INSERT (유니크 제약으로 중복 행 방지)
+    // - Redis: DB 버전이 더 높을 때만 덮어쓰는 스크립트 (write-behind 모드에서는 HINCRBY 스크립트)
     public CartItemResponse addCartItem(CartItemRequest request) {
         log.info("장바구니 상품 추가 시작 - userId: {}, productId: {}",
                 request.getUserId(), request.getProductId());
 
-        // 1. 기존 상품 확인
-        CartItem existingItem = cartItemRepository
-                .findByUserIdAndProductId(request.getUserId(), request.getProductId())
-                .orElse(null);
-
-        CartItem savedItem;
-        if (existingItem != null) {
-            // 기존 상품 수량 업데이트
-            existingItem.updateQuantity(existingItem.getQuantity() + request.getQuantity());
-            savedItem = cartItemRepository.save(existingItem);
-            log.info("기존 상품 수량 업데이트 완료 - itemId: {}", savedItem.getId());
-        } else {
-            // 새 상품 추가
-            CartItem newItem = request.toEntity();
-            savedItem = cartItemRepository.save(newItem);
-            log.info("새 상품 추가 완료 - itemId: {}", savedItem.getId());
+        if (request.getQuantity() == null || request.getQuantity() <= 0) {
+            throw new IllegalArgumentException("추가 수량은 0보다 커야 합니다.");
         }
 
+        if (writeBehindFlusher.isPresent()) {
+            // write-behind: Redis 장바구니만 변경하고 DB 반영은 CartWriteBehindFlusher 가 모아서 처리
+            CartItemCache item = CartItemCache.fromEntity(request.toEntity());
+            Long quantity = cartStore.incrementDirty(item, request.getQuantity());
+            if (quantity == null) {
+                // 캐시에 없는 장바구니면 DB 에서 채운 뒤 다시 시도
+                loadCart(request.getUserId());
+                quantity = cartStore.incrementDirty(item, request.getQuantity());
+            }
+            if (quantity == null) {
+                throw new IllegalStateException("장바구니를 불러오지 못했습니다. 다시 시도해 주세요.");
+            }
+            item.updateQuantity(quantity.intValue());
+            invalidateNearCache(request.getUserId());
+            log.info("장바구니 상품 추가 완료 (write-behind) - userId: {}, productId: {}, quantity: {}",
+                    request.getUserId(), request.getProductId(), quantity);
+            return CartItemResponse.fromCache(item);
+        }
+
+        CartItem savedItem = upsertCartItem(request);
+        log.info("장바구니 상품 upsert 완료 - itemId: {}, quantity: {}", savedItem.getId(), savedItem.getQuantity());
+
         // 캐시 업데이트
-        CartItemCache cacheItem = CartItemCache.fromEntity(savedItem);
-        cacheRepository.save(cacheItem);
+        cartStore.save(CartItemCache.fromEntity(savedItem));
+        invalidateNearCache(request.getUserId());
         log.info("캐시 업데이트 완료 - userId: {}, productId: {}",
                 request.getUserId(), request.getProductId());
 
         return CartItemResponse.fromEntity(savedItem);
     }
 
+    // DB 마다 다른 upsert 문법(MERGE, ON CONFLICT) 대신 UPDATE 후 없으면 INSERT 로 처리한다.
+    // 같은 상품을 동시에 처음 담으면 한쪽 INSERT 가 유니크 제약에 걸리므로, 먼저 들어간 행에 UPDATE 로 더한다.
+    // 각 문장은 저장소 메서드의 트랜잭션에서 따로 커밋되므로 제약 위반 뒤에도 이어서 실행할 수 있다.
+    private CartItem upsertCartItem(CartItemRequest request) {
+        Long userId = request.getUserId();
+        Long productId = request.getProductId();
+        if (cartItemRepository.incrementQuantity(userId, productId, request.getQuantity()) == 0) {
+            try {
+                return cartItemRepository.saveAndFlush(request.toEntity());
+            } catch (DataIntegrityViolationException e) {
+                log.warn("장바구니 INSERT 충돌로 수량 증가로 재시도 - userId: {}, productId: {}", userId, productId);
+                if (cartItemRepository.incrementQuantity(userId, productId, request.getQuantity()) == 0) {
+                    throw new IllegalStateException("장바구니가 동시에 변경되었습니다. 다시 시도해 주세요.");
+                }
+            }
+        }
+        // 반영된 행을 다시 읽는다 (그 사이 다른 추가가 반영됐으면 그 값과 버전까지 포함된 최신 행)
+        return cartItemRepository.findByUserIdAndProductId(userId, productId)
+                .orElseThrow(() -> new IllegalStateException("장바구니가 동시에 변경되었습니다. 다시 시도해 주세요."));
+    }
+
     @Transactional
     public void removeCartItem(Long userId, Long productId) {
         log.info("장바구니 상품 제거 시작 - userId: {}, productId: {}", userId, productId);
 
+        if (writeBehindFlusher.isPresent()) {
+            // 캐시에 없는 장바구니면 먼저 채워야 반영 시점에 삭제 여부를 판단할 수 있다.
+            loadCart(userId);
+            cartStore.deleteDirty(userId, productId);
+            invalidateNearCache(userId);
+            log.info("장바구니 상품 제거 완료 (write-behind) - userId: {}, productId: {}", userId, productId);
+            return;
+        }
+
         // DB에서 삭제
         cartItemRepository.deleteByUserIdAndProductId(userId, productId);
 
         // 캐시에서 삭제
-        cacheRepository.deleteByUserIdAndProductId(userId, productId);
+        cartStore.delete(userId, productId);
+        invalidateNearCache(userId);
 
         log.info("장바구니 상품 제거 완료 - userId: {}, productId: {}", userId, productId);
     }
@@ -95,17 +198,129 @@ public class CartService {
         log.info("장바구니 상품 수량 업데이트 시작 - userId: {}, productId: {}, quantity: {}",
                 userId, productId, quantity);
 
+        if (writeBehindFlusher.isPresent()) {
+            CartItemCache cachedItem = findCachedItem(userId, productId)
+                    .orElseThrow(() -> new IllegalArgumentException("장바구니에 해당 상품이 없습니다."));
+            cachedItem.updateQuantity(quantity);
+            cartStore.saveDirty(cachedItem);
+            invalidateNearCache(userId);
+            log.info("장바구니 상품 수량 업데이트 완료 (write-behind) - userId: {}, productId: {}", userId, productId);
+            return CartItemResponse.fromCache(cachedItem);
+        }
+
         CartItem item = cartItemRepository.findByUserIdAndProductId(userId, productId)
                 .orElseThrow(() -> new IllegalArgumentException("장바구니에 해당 상품이 없습니다."));
 
         item.updateQuantity(quantity);
-        CartItem savedItem = cartItemRepository.save(item);
+        // 캐시에 올릴 버전을 얻기 위해 바로 flush
+        CartItem savedItem = cartItemRepository.saveAndFlush(item);
 
         // 캐시 업데이트
         CartItemCache cacheItem = CartItemCache.fromEntity(savedItem);
-        cacheRepository.save(cacheItem);
+        cartStore.save(cacheItem);
+        invalidateNearCache(userId);
 
         log.info("장바구니 상품 수량 업데이트 완료 - itemId: {}", savedItem.getId());
         return CartItemResponse.fromEntity(savedItem);
     }
-}
\ No newline at end of file
+
+    // 묶음 담기, 로그인 시 비회원 장바구니 병합 등 여러 상품 변경을 한 번에 반영하고 결과 장바구니를 반환한다.
+    // - DB: 사용자 장바구니를 한 번 읽고, 변경/추가/삭제를 flush 한 번에 JDBC 배치로 전송 (hibernate.jdbc.batch_size)
+    // - Redis: 결과 장바구니와 삭제된 상품을 스크립트 한 번으로 기록
+    // 하나라도 잘못된 연산이 있으면 전체를 반영하지 않는다.
+    @Transactional
+    public List<CartItemResponse> applyBatch(Long userId, CartBatchRequest request) {
+        List<CartOperationRequest> operations = request.getOperations();
+        log.info("장바구니 일괄 변경 시작 - userId: {}, operationCount: {}", userId,
+                operations != null ? operations.size() : 0);
+        validateBatch(operations);
+
+        if (writeBehindFlusher.isPresent()) {
+            // write-behind: 연산마다 Redis 스크립트로 반영하고 DB 반영은 CartWriteBehindFlusher 에 맡긴다
+            for (CartOperationRequest operation : operations) {
+                switch (operation.getType()) {
+                    case ADD -> addCartItem(operation.toItemRequest(userId));
+                    case UPDATE -> updateCartItemQuantity(userId, operation.getProductId(), operation.getQuantity());
+                    case REMOVE -> removeCartItem(userId, operation.getProductId());
+                }
+            }
+            log.info("장바구니 일괄 변경 완료 (write-behind) - userId: {}", userId);
+            return loadCartResponses(userId);
+        }
+
+        Map<Long, CartItem> items = cartItemRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(CartItem::getProductId, Function.identity(),
+                        (first, second) -> first, LinkedHashMap::new));
+        Map<Long, CartItem> removed = new HashMap<>();
+        for (CartOperationRequest operation : operations) {
+            Long productId = operation.getProductId();
+            CartItem item = items.get(productId);
+            switch (operation.getType()) {
+                case ADD -> {
+                    if (item != null) {
+                        item.updateQuantity(item.getQuantity() + operation.getQuantity());
+                    } else if (removed.containsKey(productId)) {
+                        // 같은 요청에서 뺐다가 다시 담으면 DELETE 후 INSERT 대신 기존 행을 갱신한다
+                        CartItem restored = removed.remove(productId);
+                        restored.updateQuantity(operation.getQuantity());
+                        items.put(productId, restored);
+                    } else {
+                        items.put(productId, operation.toEntity(userId));
+                    }
+                }
+                case UPDATE -> {
+                    if (item == null) {
+                        throw new IllegalArgumentException("장바구니에 해당 상품이 없습니다. productId: " + productId);
+                    }
+                    item.updateQuantity(operation.getQuantity());
+                }
+                case REMOVE -> {
+                    if (item != null) {
+                        items.remove(productId);
+                        if (item.getId() != null) {
+                            removed.put(productId, item);
+                        }
+                    }
+                }
+            }
+        }
+
+        cartItemRepository.saveAll(items.values());
+        cartItemRepository.deleteAll(removed.values());
+        // 캐시에 올릴 id 와 버전을 얻기 위해 바로 flush
+        cartItemRepository.flush();
+
+        List<CartItemCache> cacheItems = items.values().stream()
+                .map(CartItemCache::fromEntity)
+                .collect(Collectors.toList());
+        cartStore.saveBatch(userId, cacheItems, removed.keySet());
+        invalidateNearCache(userId);
+
+        log.info("장바구니 일괄 변경 완료 - userId: {}, saved: {}, removed: {}", userId, items.size(), removed.size());
+        return cacheItems.stream()
+                .map(CartItemResponse::fromCache)
+                .collect(Collectors.toList());
+    }
+
+    private void validateBatch(List<CartOperationRequest> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("변경할 항목이 없습니다.");
+        }
+        if (operations.size() > maxBatchOperations) {
+            throw new IllegalArgumentException("한 번에 변경할 수 있는 항목은 최대 " + maxBatchOperations + "개입니다.");
+        }
+        for (CartOperationRequest operation : operations) {
+            if (operation.getType() == null || operation.getProductId() == null) {
+                throw new IllegalArgumentException("연산 종류와 상품 ID 는 필수입니다.");
+            }
+            if (operation.getType() != CartOperationType.REMOVE
+                    && (operation.getQuantity() == null || operation.getQuantity() <= 0)) {
+                throw new IllegalArgumentException("수량은 0보다 커야 합니다. productId: " + operation.getProductId());
+            }
+            if (operation.getType() == CartOperationType.ADD
+                    && (operation.getProductName() == null || operation.getPrice() == null)) {
+                throw new IllegalArgumentException("담을 상품의 이름과 가격은 필수입니다. productId: " + operation.getProductId());
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.tempo.cart.service;
+
+import com.tempo.cart.domain.CartItem;
+import com.tempo.cart.repository.CartDirtyItem;
+import com.tempo.cart.repository.CartItemRepository;
+import com.tempo.cart.repository.CartStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// write-behind 모드에서 Redis 장바구니의 변경분을 주기적으로 DB에 반영
+// - 같은 (userId, productId)의 여러 변경은 cart:dirty Set 에서 하나로 합쳐지고, 반영 시점의 Redis 값이 기록된다
+// - 반영할 때마다 대상 목록을 전용 claim 키로 옮기므로 여러 인스턴스가 같은 목록을 동시에 반영하지 않는다
+//   (flushLock 은 한 JVM 안에서 스케줄 실행과 종료 시 반영이 겹치지 않게 할 뿐이다.
+//    I/O 를 기다리는 동안 가상 스레드가 캐리어에 고정되지 않도록 synchronized 대신 ReentrantLock 을 쓴다)
+// - claim 키는 DB 커밋 이후에 지우므로, 도중에 종료되면 claim-timeout-ms 가 지난 뒤 어느 인스턴스든 넘겨받아 다시 반영한다
+//   반영은 그 시점의 Redis 값을 쓰므로 같은 목록을 두 번 반영해도 결과는 같다 (claim-timeout 은 한 번의 반영보다 충분히 길게)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cart.write-behind.enabled", havingValue = "true")
+public class CartWriteBehindFlusher {
+    private final CartStore cartStore;
+    private final CartItemRepository cartItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration claimTimeout;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public CartWriteBehindFlusher(CartStore cartStore,
+                                  CartItemRepository cartItemRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${cart.write-behind.batch-size:500}") int batchSize,
+                                  @Value("${cart.write-behind.claim-timeout-ms:300000}") long claimTimeoutMillis) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("cart.write-behind.batch-size는 0보다 커야 합니다.");
+        }
+        if (claimTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("cart.write-behind.claim-timeout-ms는 0보다 커야 합니다.");
+        }
+        this.cartStore = cartStore;
+        this.cartItemRepository = cartItemRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMillis);
+    }
+
+    // 이전 실행에서 반영하지 못한 변경분 복구
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        log.info("장바구니 미반영 변경분 복구 시작");
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${cart.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            // 반영 도중 종료된 실행의 claim 을 먼저 넘겨받아 반영한다
+            for (String claimKey : cartStore.takeOverStaleClaims(claimTimeout)) {
+                log.warn("끝나지 않은 장바구니 변경분 넘겨받음 - claimKey: {}", claimKey);
+                flushClaim(claimKey);
+            }
+            cartStore.claimDirty().ifPresent(this::flushClaim);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushClaim(String claimKey) {
+        List<String> members = new ArrayList<>(cartStore.findClaimedDirty(claimKey));
+        int written = 0;
+        for (int from = 0; from < members.size(); from += batchSize) {
+            List<CartDirtyItem> items = cartStore.findDirtyItems(
+                    members.subList(from, Math.min(from + batchSize, members.size())));
+            written += transactionTemplate.execute(status -> persist(items));
+        }
+        cartStore.completeClaim(claimKey);
+
+        log.info("장바구니 변경분 DB 반영 완료 - claimKey: {}, dirty: {}, written: {}", claimKey, members.size(), written);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("종료 전 장바구니 변경분 반영");
+        flush();
+    }
+
+    private int persist(List<CartDirtyItem> items) {
+        Set<Long> userIds = items.stream()
+                .filter(CartDirtyItem::isCartLoaded)
+                .map(CartDirtyItem::getUserId)
+                .collect(Collectors.toSet());
+        Map<String, CartItem> existing = cartItemRepository.findByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(item -> CartDirtyItem.key(item.getUserId(), item.getProductId()),
+                        Function.identity()));
+
+        List<CartItem> toSave = new ArrayList<>();
+        List<CartItem> toDelete = new ArrayList<>();
+        for (CartDirtyItem dirty : items) {
+            if (!dirty.isCartLoaded()) {
+                // 장바구니 해시가 만료되어 최신 값을 알 수 없으면 DB 값을 유지한다.
+                log.warn("만료된 장바구니 변경분 건너뜀 - userId: {}, productId: {}", dirty.getUserId(), dirty.getProductId());
+                continue;
+            }
+            CartItem entity = existing.get(CartDirtyItem.key(dirty.getUserId(), dirty.getProductId()));
+            if (dirty.isRemoved()) {
+                if (entity != null) {
+                    toDelete.add(entity);
+                }
+            } else if (entity != null) {
+                entity.updateQuantity(dirty.getItem().getQuantity());
+                toSave.add(entity);
+            } else {
+                toSave.add(dirty.getItem().toEntity());
+            }
+        }
+
+        cartItemRepository.saveAll(toSave);
+        cartItemRepository.deleteAllInBatch(toDelete);
+        return toSave.size() + toDelete.size();
+    }
+}
@@ -0,0 +1,88 @@
+package com.tempo.cart.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// 상품 서비스가 product:events 스트림에 남긴 이름/가격 변경을 컨슈머 그룹(cart)으로 읽어 반영
+// 처리에 실패한 메시지는 ACK 하지 않아 pending 목록에 남고, ProductEventReclaimer 가 가져와 다시 처리한다.
+// 컨슈머 이름은 재시작해도 같도록 설정값이나 호스트 이름(쿠버네티스에서는 파드 이름)을 쓰고,
+// 종료할 때 pending 이 남지 않았으면 그룹에서 지워 사라진 인스턴스의 컨슈머가 쌓이지 않게 한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cart.product-events.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductEventListener implements StreamListener<String, MapRecord<String, String, String>> {
+    public static final String STREAM_KEY = "product:events";
+    public static final String CONSUMER_GROUP = "cart";
+
+    // 이 인스턴스의 컨슈머 이름 (구독과 pending 메시지 재처리에 같이 쓴다)
+    @Getter
+    private final String consumerName;
+    private final CartProductSyncService cartProductSyncService;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public ProductEventListener(CartProductSyncService cartProductSyncService,
+                                StringRedisTemplate stringRedisTemplate,
+                                @Value("${cart.product-events.consumer-name:${HOSTNAME:cart-local}}") String consumerName) {
+        if (!StringUtils.hasText(consumerName)) {
+            throw new IllegalArgumentException("cart.product-events.consumer-name은 비어 있을 수 없습니다.");
+        }
+        this.cartProductSyncService = cartProductSyncService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.consumerName = consumerName;
+    }
+
+    @Override
+    public void onMessage(MapRecord<String, String, String> record) {
+        handle(record.getId(), record.getValue());
+    }
+
+    // 반영에 성공하면 ACK 하고 true, 실패하면 pending 으로 남기고 false
+    public boolean handle(RecordId recordId, Map<?, ?> event) {
+        try {
+            // 장바구니 가격은 원 단위 정수로 저장한다
+            cartProductSyncService.applyProductChange(
+                    Long.valueOf(String.valueOf(event.get("productId"))),
+                    String.valueOf(event.get("name")),
+                    new BigDecimal(String.valueOf(event.get("price"))).longValue());
+            stringRedisTemplate.opsForStream().acknowledge(STREAM_KEY, CONSUMER_GROUP, recordId);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("상품 변경 이벤트 처리 실패 - recordId: {}, productId: {}, error: {}",
+                    recordId, event.get("productId"), e.getMessage());
+            return false;
+        }
+    }
+
+    // 구독 컨테이너가 멈춘 뒤 호출된다 (SmartLifecycle 정지가 소멸 콜백보다 먼저 실행)
+    // 컨슈머를 지우면 그 컨슈머의 pending 메시지도 함께 사라져 재처리할 수 없으므로 pending 이 없을 때만 지운다.
+    @PreDestroy
+    public void removeConsumer() {
+        try {
+            PendingMessages pending = stringRedisTemplate.opsForStream()
+                    .pending(STREAM_KEY, CONSUMER_GROUP, Range.unbounded(), 1, consumerName);
+            if (!pending.isEmpty()) {
+                log.info("pending 메시지가 남아 컨슈머 유지 - consumer: {}", consumerName);
+                return;
+            }
+            stringRedisTemplate.opsForStream().deleteConsumer(STREAM_KEY, Consumer.from(CONSUMER_GROUP, consumerName));
+            log.info("상품 변경 스트림 컨슈머 삭제 완료 - consumer: {}", consumerName);
+        } catch (RuntimeException e) {
+            log.warn("상품 변경 스트림 컨슈머 삭제 실패 - consumer: {}, error: {}", consumerName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.tempo.cart.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+// 컨슈머 그룹 cart 의 pending 목록(처리 실패, 처리 중 종료된 인스턴스의 메시지)을 주기적으로 가져와 다시 처리한다.
+// 구독은 새 메시지(>)만 읽으므로, 이 작업이 없으면 한 번 실패한 상품 변경은 다시 전달되지 않는다.
+// - min-idle-ms 이상 ACK 되지 않은 메시지만 XCLAIM 으로 이 인스턴스 소유로 가져온다 (처리 중인 다른 인스턴스와 겹치지 않게)
+// - max-deliveries 번 넘게 실패한 메시지는 product:events:dead 스트림으로 옮기고 ACK 한다 (수동 확인용)
+// - 스트림 trim 으로 원본이 사라진 메시지는 ACK 해서 목록에서 뺀다
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cart.product-events.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductEventReclaimer {
+    public static final String DEAD_LETTER_KEY = "product:events:dead";
+
+    private final ProductEventListener listener;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration minIdle;
+    private final long maxDeliveries;
+    private final int batchSize;
+
+    public ProductEventReclaimer(ProductEventListener listener,
+                                 StringRedisTemplate stringRedisTemplate,
+                                 @Value("${cart.product-events.reclaim.min-idle-ms:60000}") long minIdleMillis,
+                                 @Value("${cart.product-events.reclaim.max-deliveries:5}") long maxDeliveries,
+                                 @Value("${cart.product-events.reclaim.batch-size:100}") int batchSize) {
+        this.listener = listener;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.minIdle = Duration.ofMillis(minIdleMillis);
+        this.maxDeliveries = maxDeliveries;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${cart.product-events.reclaim.interval-ms:30000}")
+    public void reclaim() {
+        StreamOperations<String, Object, Object> stream = stringRedisTemplate.opsForStream();
+        PendingMessages pending;
+        try {
+            pending = stream.pending(ProductEventListener.STREAM_KEY, ProductEventListener.CONSUMER_GROUP,
+                    Range.unbounded(), batchSize);
+        } catch (RuntimeException e) {
+            log.warn("상품 변경 pending 조회 실패 - error: {}", e.getMessage());
+            return;
+        }
+
+        int retried = 0;
+        int succeeded = 0;
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                continue;
+            }
+            List<MapRecord<String, Object, Object>> claimed = stream.claim(ProductEventListener.STREAM_KEY,
+                    ProductEventListener.CONSUMER_GROUP, listener.getConsumerName(), minIdle, message.getId());
+            if (claimed.isEmpty()) {
+                // 다른 인스턴스가 먼저 가져갔거나(이 경우 ACK 는 그쪽에서), 원본이 trim 된 경우
+                if (stream.range(ProductEventListener.STREAM_KEY, Range.just(message.getIdAsString())).isEmpty()) {
+                    stream.acknowledge(ProductEventListener.STREAM_KEY, ProductEventListener.CONSUMER_GROUP, message.getId());
+                    log.warn("원본이 사라진 상품 변경 pending 정리 - recordId: {}", message.getId());
+                }
+                continue;
+            }
+
+            MapRecord<String, Object, Object> record = claimed.get(0);
+            if (message.getTotalDeliveryCount() >= maxDeliveries) {
+                stream.add(StreamRecords.newRecord().in(DEAD_LETTER_KEY).ofMap(record.getValue()));
+                stream.acknowledge(ProductEventListener.STREAM_KEY, ProductEventListener.CONSUMER_GROUP, record.getId());
+                log.error("상품 변경 이벤트 처리 포기 (dead letter 이동) - recordId: {}, deliveries: {}, event: {}",
+                        record.getId(), message.getTotalDeliveryCount(), record.getValue());
+                continue;
+            }
+            retried++;
+            if (listener.handle(record.getId(), record.getValue())) {
+                succeeded++;
+            }
+        }
+        if (retried > 0) {
+            log.info("상품 변경 pending 재처리 완료 - retried: {}, succeeded: {}", retried, succeeded);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.tempo.cart.config;
+
+import com.tempo.cart.domain.CartItemCache;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 장바구니 캐시 값 직렬화 형식별 크기와 인코딩/디코딩 비용 비교 (JMH 대신 워밍업 후 반복 측정)
+@Slf4j
+class CartItemCacheSerializerBenchmarkTest {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    private final CartItemCache item = CartItemCache.builder()
+            .itemId(123_456L)
+            .userId(98_765L)
+            .productId(4_321L)
+            .quantity(3)
+            .productName("무선 블루투스 이어폰 | 화이트")
+            .price(129_000L)
+            .build();
+
+    @Test
+    void binaryRoundTripsAndReadsTextFormat() {
+        CartItemCacheBinarySerializer binary = new CartItemCacheBinarySerializer();
+
+        assertSameItem(binary.deserialize(binary.serialize(item)));
+        assertSameItem(binary.deserialize(new CartItemCacheTextSerializer().serialize(item)));
+
+        CartItemCache withoutItemId = CartItemCache.builder()
+                .userId(1L).productId(2L).price(0L).productName("").build();
+        assertThat(binary.deserialize(binary.serialize(withoutItemId)).getItemId()).isNull();
+    }
+
+    @Test
+    void compareSerializers() {
+        int binaryBytes = measure("binary", new CartItemCacheBinarySerializer());
+        int textBytes = measure("text", new CartItemCacheTextSerializer());
+        int jsonBytes = measureEncodeOnly("json(GenericJackson2)", new GenericJackson2JsonRedisSerializer());
+
+        assertThat(binaryBytes).isLessThan(textBytes);
+        assertThat(textBytes).isLessThan(jsonBytes);
+    }
+
+    private int measure(String name, RedisSerializer<CartItemCache> serializer) {
+        byte[] bytes = serializer.serialize(item);
+        for (int i = 0; i < WARMUP; i++) {
+            serializer.deserialize(serializer.serialize(item));
+        }
+
+        long encodeStartedAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes = serializer.serialize(item);
+        }
+        long encodeNanos = (System.nanoTime() - encodeStartedAt) / ITERATIONS;
+
+        long decodeStartedAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            serializer.deserialize(bytes);
+        }
+        long decodeNanos = (System.nanoTime() - decodeStartedAt) / ITERATIONS;
+
+        log.info("직렬화 비교 - format: {}, bytes: {}, encode(ns/op): {}, decode(ns/op): {}",
+                name, bytes.length, encodeNanos, decodeNanos);
+        return bytes.length;
+    }
+
+    // CartItemCache 는 기본 생성자만 있고 setter 가 없어 Jackson 역직렬화 대상이 아니므로 인코딩만 측정
+    private int measureEncodeOnly(String name, RedisSerializer<Object> serializer) {
+        byte[] bytes = serializer.serialize(item);
+        for (int i = 0; i < WARMUP; i++) {
+            serializer.serialize(item);
+        }
+
+        long encodeStartedAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes = serializer.serialize(item);
+        }
+        long encodeNanos = (System.nanoTime() - encodeStartedAt) / ITERATIONS;
+
+        log.info("직렬화 비교 - format: {}, bytes: {}, encode(ns/op): {}", name, bytes.length, encodeNanos);
+        return bytes.length;
+    }
+
+    private void assertSameItem(CartItemCache decoded) {
+        assertThat(decoded.getItemId()).isEqualTo(item.getItemId());
+        assertThat(decoded.getUserId()).isEqualTo(item.getUserId());
+        assertThat(decoded.getProductId()).isEqualTo(item.getProductId());
+        assertThat(decoded.getPrice()).isEqualTo(item.getPrice());
+        assertThat(decoded.getProductName()).isEqualTo(item.getProductName());
+    }
+}
@@ -0,0 +1,235 @@
+package com.tempo.cart.repository;
+
+import com.tempo.cart.config.CartItemCacheBinarySerializer;
+import com.tempo.cart.config.CartItemCacheTextSerializer;
+import com.tempo.cart.config.RedisConfig;
+import com.tempo.cart.domain.CartItemCache;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 기존 @RedisHash 저장소 방식(보조 인덱스 Set + 항목별 HGETALL)과 사용자별 해시(CartStore)의
+// Redis 명령 수와 조회 지연, 활성 장바구니 1만 개당 메모리를 비교한다. Docker 가 없으면 건너뛴다.
+@Slf4j
+@Testcontainers(disabledWithoutDocker = true)
+class CartStoreBenchmarkTest {
+
+    private static final int ITEMS = 50;
+    private static final int READS = 200;
+    private static final long TTL_SECONDS = 86400;
+    private static final int ACTIVE_CARTS = 10_000;
+    private static final int ITEMS_PER_ACTIVE_CART = 5;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static CartStore cartStore;
+    private static StringRedisTemplate stringRedisTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        RedisConfig config = new RedisConfig();
+        connectionFactory = (LettuceConnectionFactory) config.redisConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        RedisSerializer<CartItemCache> serializer = new CartItemCacheTextSerializer();
+        RedisTemplate<String, CartItemCache> cartRedisTemplate = config.cartRedisTemplate(connectionFactory, serializer);
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        cartStore = new CartStore(cartRedisTemplate, serializer, stringRedisTemplate, TTL_SECONDS);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void hashPerUserReadsWholeCartInOneCommand() {
+        long userId = 1L;
+        List<CartItemCache> items = cartItems(userId);
+
+        // 기존 방식: 항목마다 해시 + 인덱스 Set + TTL
+        for (CartItemCache item : items) {
+            String id = userId + ":" + item.getProductId();
+            stringRedisTemplate.opsForHash().putAll("cart_item:" + id, Map.of(
+                    "userId", String.valueOf(userId),
+                    "productId", String.valueOf(item.getProductId()),
+                    "quantity", String.valueOf(item.getQuantity()),
+                    "productName", item.getProductName(),
+                    "price", String.valueOf(item.getPrice())));
+            stringRedisTemplate.opsForSet().add("cart_item:userId:" + userId, id);
+            stringRedisTemplate.expire("cart_item:" + id, TTL_SECONDS, TimeUnit.SECONDS);
+        }
+        cartStore.saveLoaded(userId, items);
+
+        long legacyCommands = commandsProcessed();
+        long legacyStartedAt = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            assertThat(readLegacy(userId)).hasSize(ITEMS);
+        }
+        long legacyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - legacyStartedAt) / READS;
+        legacyCommands = commandsProcessed() - legacyCommands - 1;
+
+        long storeCommands = commandsProcessed();
+        long storeStartedAt = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            assertThat(cartStore.findByUserId(userId).orElseThrow()).hasSize(ITEMS);
+        }
+        long storeMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - storeStartedAt) / READS;
+        storeCommands = commandsProcessed() - storeCommands - 1;
+
+        log.info("장바구니 조회 비교 - items: {}, 기존 명령/조회: {}, 기존 평균(us): {}, 해시 명령/조회: {}, 해시 평균(us): {}",
+                ITEMS, legacyCommands / READS, legacyMicros, storeCommands / READS, storeMicros);
+
+        assertThat(legacyCommands / READS).isEqualTo(ITEMS + 1);
+        assertThat(storeCommands / READS).isEqualTo(1);
+    }
+
+    @Test
+    void saveAndDeleteRoundTrip() {
+        long userId = 2L;
+        cartStore.saveLoaded(userId, cartItems(userId));
+        cartStore.delete(userId, 1L);
+
+        List<CartItemCache> stored = cartStore.findByUserId(userId).orElseThrow();
+        assertThat(stored).hasSize(ITEMS - 1);
+        assertThat(stored).extracting(CartItemCache::getProductId).doesNotContain(1L);
+        assertThat(stringRedisTemplate.getExpire(CartStore.key(userId))).isPositive();
+
+        // 항목 변경 시 증감된 집계가 남은 항목으로 다시 계산한 값과 같아야 한다
+        CartSummary summary = cartStore.findSummary(userId).orElseThrow();
+        assertThat(summary.getItemCount()).isEqualTo(stored.size());
+        assertThat(summary.getTotalQuantity())
+                .isEqualTo(stored.stream().mapToLong(CartItemCache::getQuantity).sum());
+        assertThat(summary.getTotalPrice())
+                .isEqualTo(stored.stream().mapToLong(item -> item.getPrice() * item.getQuantity()).sum());
+    }
+
+    @Test
+    void readsExtendTtlAndSweeperDropsExpiredCartsFromIndex() {
+        long userId = 3L;
+        long expiredUserId = 4L;
+        cartStore.saveLoaded(userId, cartItems(userId).subList(0, 1));
+        cartStore.saveLoaded(expiredUserId, cartItems(expiredUserId).subList(0, 1));
+
+        stringRedisTemplate.expire(CartStore.key(userId), 10, TimeUnit.SECONDS);
+        cartStore.findByUserId(userId);
+        assertThat(stringRedisTemplate.getExpire(CartStore.key(userId))).isGreaterThan(10);
+
+        // 요약 조회도 조회와 같이 만료 시간을 늘린다
+        stringRedisTemplate.expire(CartStore.key(userId), 10, TimeUnit.SECONDS);
+        assertThat(cartStore.findSummary(userId)).isPresent();
+        assertThat(stringRedisTemplate.getExpire(CartStore.key(userId))).isGreaterThan(10);
+
+        // 만료를 흉내 내 해시만 지우면 역인덱스에 userId 가 남는다
+        stringRedisTemplate.delete(CartStore.key(expiredUserId));
+        assertThat(cartStore.sweepProductIndex(100)).isEqualTo(1);
+        assertThat(stringRedisTemplate.opsForSet().members("cart:product-users:1"))
+                .contains(String.valueOf(userId))
+                .doesNotContain(String.valueOf(expiredUserId));
+    }
+
+    // 기존 방식(항목별 해시 + 사용자 인덱스 Set, 항목마다 TTL)과 사용자별 해시(바이너리 값)의 활성 장바구니 1만 개당 메모리
+    @Test
+    void memoryPerTenThousandActiveCarts() {
+        RedisSerializer<CartItemCache> binary = new CartItemCacheBinarySerializer();
+        CartStore binaryStore = new CartStore(
+                new RedisConfig().cartRedisTemplate(connectionFactory, binary), binary, stringRedisTemplate, TTL_SECONDS);
+
+        flushAll();
+        long emptyMemory = usedMemory();
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (long userId = 1; userId <= ACTIVE_CARTS; userId++) {
+                for (CartItemCache item : cartItems(userId).subList(0, ITEMS_PER_ACTIVE_CART)) {
+                    String id = userId + ":" + item.getProductId();
+                    byte[] key = ("cart_item:" + id).getBytes();
+                    connection.hashCommands().hMSet(key, Map.of(
+                            "userId".getBytes(), String.valueOf(userId).getBytes(),
+                            "productId".getBytes(), String.valueOf(item.getProductId()).getBytes(),
+                            "quantity".getBytes(), String.valueOf(item.getQuantity()).getBytes(),
+                            "productName".getBytes(), item.getProductName().getBytes(),
+                            "price".getBytes(), String.valueOf(item.getPrice()).getBytes()));
+                    connection.setCommands().sAdd(("cart_item:userId:" + userId).getBytes(), id.getBytes());
+                    connection.keyCommands().expire(key, TTL_SECONDS);
+                }
+            }
+            return null;
+        });
+        long legacyBytes = usedMemory() - emptyMemory;
+
+        flushAll();
+        emptyMemory = usedMemory();
+        for (long userId = 1; userId <= ACTIVE_CARTS; userId++) {
+            binaryStore.saveLoaded(userId, cartItems(userId).subList(0, ITEMS_PER_ACTIVE_CART));
+        }
+        long hashBytes = usedMemory() - emptyMemory;
+
+        log.info("활성 장바구니 {}개(항목 {}개씩) 메모리 - 기존 방식: {} KB, 사용자별 해시: {} KB",
+                ACTIVE_CARTS, ITEMS_PER_ACTIVE_CART, legacyBytes / 1024, hashBytes / 1024);
+        assertThat(hashBytes).isLessThan(legacyBytes);
+    }
+
+    private void flushAll() {
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    private long usedMemory() {
+        Properties memory = stringRedisTemplate.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("memory"));
+        return Long.parseLong(memory.getProperty("used_memory"));
+    }
+
+    private List<Map<Object, Object>> readLegacy(long userId) {
+        Set<String> ids = stringRedisTemplate.opsForSet().members("cart_item:userId:" + userId);
+        List<Map<Object, Object>> result = new ArrayList<>();
+        for (String id : ids) {
+            result.add(stringRedisTemplate.opsForHash().entries("cart_item:" + id));
+        }
+        return result;
+    }
+
+    private long commandsProcessed() {
+        Properties stats = stringRedisTemplate.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("stats"));
+        return Long.parseLong(stats.getProperty("total_commands_processed"));
+    }
+
+    private static List<CartItemCache> cartItems(long userId) {
+        List<CartItemCache> items = new ArrayList<>();
+        for (long productId = 1; productId <= ITEMS; productId++) {
+            items.add(CartItemCache.builder()
+                    .itemId(productId)
+                    .userId(userId)
+                    .productId(productId)
+                    .quantity(1)
+                    .productName("상품|" + productId)
+                    .price(1000L)
+                    .build());
+        }
+        return items;
+    }
+}
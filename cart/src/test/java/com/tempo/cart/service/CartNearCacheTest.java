@@ -0,0 +1,90 @@
+package com.tempo.cart.service;
+
+import com.tempo.cart.dto.CartItemRequest;
+import com.tempo.cart.repository.CartStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 반복 조회가 Redis 로 나가지 않는지, 로컬 변경과 다른 인스턴스의 무효화 알림이 반영되는지 확인한다. Docker 가 없으면 건너뛴다.
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class CartNearCacheTest {
+
+    private static final int READS = 100;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+        registry.add("cart.near-cache.ttl-ms", () -> 60_000);
+    }
+
+    @Autowired
+    private CartService cartService;
+
+    @MockitoSpyBean
+    private CartStore cartStore;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    void repeatedReadsStayInJvmUntilMutation() {
+        long userId = 300L;
+        cartService.addCartItem(request(userId, 1L));
+
+        for (int i = 0; i < READS; i++) {
+            assertThat(cartService.getCartItems(userId)).hasSize(1);
+        }
+        verify(cartStore, times(1)).findByUserId(userId);
+
+        cartService.addCartItem(request(userId, 2L));
+        assertThat(cartService.getCartItems(userId)).hasSize(2);
+    }
+
+    @Test
+    void remoteInvalidationEvictsEntry() {
+        long userId = 400L;
+        cartService.addCartItem(request(userId, 1L));
+        assertThat(cartService.getCartItems(userId)).hasSize(1);
+        clearInvocations(cartStore);
+
+        // 다른 인스턴스가 보낸 무효화 알림
+        stringRedisTemplate.convertAndSend(CartNearCache.INVALIDATION_CHANNEL,
+                userId + ":" + System.currentTimeMillis() + ":other-instance");
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            cartService.getCartItems(userId);
+            verify(cartStore, times(1)).findByUserId(userId);
+        });
+    }
+
+    private CartItemRequest request(Long userId, Long productId) {
+        return CartItemRequest.builder()
+                .userId(userId)
+                .productId(productId)
+                .quantity(1)
+                .productName("상품" + productId)
+                .price(1000L)
+                .build();
+    }
+}
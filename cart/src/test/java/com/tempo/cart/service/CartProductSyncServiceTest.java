@@ -0,0 +1,104 @@
+package com.tempo.cart.service;
+
+import com.tempo.cart.domain.CartItemCache;
+import com.tempo.cart.dto.CartItemRequest;
+import com.tempo.cart.repository.CartItemRepository;
+import com.tempo.cart.repository.CartStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 상품 변경이 DB 행과 캐시된 장바구니(항목, 집계)에 반영되고, 삭제된 항목은 역인덱스에서 빠지는지 확인한다.
+// Docker 가 없으면 건너뛴다.
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class CartProductSyncServiceTest {
+
+    private static final long PRODUCT_ID = 77L;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+    }
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartProductSyncService cartProductSyncService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Test
+    void productChangeUpdatesOnlyCartsHoldingProduct() {
+        long cachedUser = 700L;
+        long removedUser = 701L;
+        add(cachedUser, 2);
+        add(removedUser, 1);
+        cartService.getCartItems(cachedUser);
+        cartService.removeCartItem(removedUser, PRODUCT_ID);
+
+        cartProductSyncService.applyProductChange(PRODUCT_ID, "새 이름", 1500L);
+
+        CartItemCache cached = cartStore.findByUserId(cachedUser).orElseThrow().get(0);
+        assertThat(cached.getProductName()).isEqualTo("새 이름");
+        assertThat(cached.getPrice()).isEqualTo(1500L);
+        assertThat(cartStore.findSummary(cachedUser).orElseThrow().getTotalPrice()).isEqualTo(3000L);
+        assertThat(cartService.getCartItems(cachedUser).get(0).getTotalPrice()).isEqualTo(3000L);
+
+        assertThat(cartItemRepository.findByUserIdAndProductId(cachedUser, PRODUCT_ID).orElseThrow().getPrice())
+                .isEqualTo(1500L);
+        assertThat(cartItemRepository.findByUserIdAndProductId(removedUser, PRODUCT_ID)).isEmpty();
+    }
+
+    // DB 행이 이미 새 값과 같거나(버전 그대로) 같은 이벤트가 다시 와도, 캐시 버전이 DB 보다 앞서지 않아
+    // 이후 수량 변경의 write-through 가 캐시에 반영되어야 한다.
+    @Test
+    void unchangedRowsAndRedeliveryKeepCacheVersionInStepWithDb() {
+        long userId = 702L;
+        long productId = 78L;
+        cartService.addCartItem(CartItemRequest.builder()
+                .userId(userId)
+                .productId(productId)
+                .quantity(1)
+                .productName("현재 이름")
+                .price(1200L)
+                .build());
+        cartService.getCartItems(userId);
+
+        cartProductSyncService.applyProductChange(productId, "현재 이름", 1200L);
+        cartProductSyncService.applyProductChange(productId, "현재 이름", 1200L);
+        cartService.updateCartItemQuantity(userId, productId, 4);
+
+        CartItemCache cached = cartStore.findByUserId(userId).orElseThrow().get(0);
+        assertThat(cached.getQuantity()).isEqualTo(4);
+        assertThat(cartStore.findSummary(userId).orElseThrow().getTotalQuantity()).isEqualTo(4L);
+        assertThat(cartItemRepository.findByUserIdAndProductId(userId, productId).orElseThrow().getQuantity())
+                .isEqualTo(4);
+    }
+
+    private void add(long userId, int quantity) {
+        cartService.addCartItem(CartItemRequest.builder()
+                .userId(userId)
+                .productId(PRODUCT_ID)
+                .quantity(quantity)
+                .productName("이전 이름")
+                .price(1000L)
+                .build());
+    }
+}
@@ -0,0 +1,97 @@
+package com.tempo.cart.service;
+
+import com.tempo.cart.domain.CartOperationType;
+import com.tempo.cart.dto.CartBatchRequest;
+import com.tempo.cart.dto.CartItemRequest;
+import com.tempo.cart.dto.CartItemResponse;
+import com.tempo.cart.dto.CartOperationRequest;
+import com.tempo.cart.repository.CartItemRepository;
+import com.tempo.cart.repository.CartStore;
+import com.tempo.cart.repository.CartSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 일괄 변경이 DB 와 Redis(항목, 집계)에 함께 반영되고, 잘못된 연산이 있으면 아무것도 반영되지 않는지 확인한다.
+// Docker 가 없으면 건너뛴다.
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class CartServiceBatchTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+    }
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Test
+    void mergesGuestCartInOneBatch() {
+        long userId = 500L;
+        cartService.addCartItem(CartItemRequest.builder()
+                .userId(userId).productId(1L).quantity(1).productName("상품1").price(1000L).build());
+        cartService.addCartItem(CartItemRequest.builder()
+                .userId(userId).productId(2L).quantity(1).productName("상품2").price(2000L).build());
+        cartService.getCartItems(userId);
+
+        List<CartItemResponse> result = cartService.applyBatch(userId, new CartBatchRequest(List.of(
+                add(1L, 2, 1000L),
+                add(3L, 1, 3000L),
+                CartOperationRequest.builder().type(CartOperationType.REMOVE).productId(2L).build(),
+                CartOperationRequest.builder().type(CartOperationType.UPDATE).productId(3L).quantity(4).build())));
+
+        assertThat(result).extracting(CartItemResponse::getProductId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(cartItemRepository.findByUserIdAndProductId(userId, 1L).orElseThrow().getQuantity()).isEqualTo(3);
+        assertThat(cartItemRepository.findByUserIdAndProductId(userId, 2L)).isEmpty();
+        assertThat(cartItemRepository.findByUserIdAndProductId(userId, 3L).orElseThrow().getQuantity()).isEqualTo(4);
+
+        assertThat(cartStore.findByUserId(userId).orElseThrow()).hasSize(2);
+        CartSummary summary = cartStore.findSummary(userId).orElseThrow();
+        assertThat(summary.getItemCount()).isEqualTo(2);
+        assertThat(summary.getTotalQuantity()).isEqualTo(7);
+        assertThat(summary.getTotalPrice()).isEqualTo(3 * 1000L + 4 * 3000L);
+    }
+
+    @Test
+    void invalidOperationRollsBackWholeBatch() {
+        long userId = 600L;
+
+        assertThatThrownBy(() -> cartService.applyBatch(userId, new CartBatchRequest(List.of(
+                add(1L, 1, 1000L),
+                CartOperationRequest.builder().type(CartOperationType.UPDATE).productId(9L).quantity(1).build()))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(cartItemRepository.findByUserId(userId)).isEmpty();
+    }
+
+    private CartOperationRequest add(Long productId, int quantity, Long price) {
+        return CartOperationRequest.builder()
+                .type(CartOperationType.ADD)
+                .productId(productId)
+                .quantity(quantity)
+                .productName("상품" + productId)
+                .price(price)
+                .build();
+    }
+}
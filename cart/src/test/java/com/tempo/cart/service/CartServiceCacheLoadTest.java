@@ -0,0 +1,107 @@
+package com.tempo.cart.service;
+
+import com.tempo.cart.domain.CartItem;
+import com.tempo.cart.repository.CartItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 캐시 미스 시 Redis 적재가 항목 수와 무관하게 한 번의 왕복(스크립트)으로 끝나는지,
+// 빈 장바구니 반복 조회가 DB 로 내려가지 않는지 확인한다. Docker 가 없으면 건너뛴다.
+@Slf4j
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class CartServiceCacheLoadTest {
+
+    private static final int ITEMS = 50;
+    private static final int READS = 100;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+    }
+
+    @Autowired
+    private CartService cartService;
+
+    @MockitoSpyBean
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    void cacheMissBackfillsWholeCartInOnePipeline() {
+        long userId = 10L;
+        List<CartItem> items = new ArrayList<>();
+        for (long productId = 1; productId <= ITEMS; productId++) {
+            items.add(CartItem.builder()
+                    .userId(userId)
+                    .productId(productId)
+                    .quantity(1)
+                    .productName("상품" + productId)
+                    .price(1000L)
+                    .build());
+        }
+        cartItemRepository.saveAll(items);
+        // 적재 스크립트를 미리 로드해 EVALSHA 실패 후 EVAL 로 재전송되는 첫 호출을 측정에서 제외
+        cartService.getCartItems(userId + 1);
+
+        long before = roundTrips();
+        assertThat(cartService.getCartItems(userId)).hasSize(ITEMS);
+        long backfillRoundTrips = roundTrips() - before;
+
+        log.info("캐시 미스 적재 - items: {}, redis 왕복 수: {}", ITEMS, backfillRoundTrips);
+        // HGETALL + 적재 스크립트(EVALSHA)
+        assertThat(backfillRoundTrips).isEqualTo(2);
+        assertThat(cartService.getCartItems(userId)).hasSize(ITEMS);
+    }
+
+    @Test
+    void emptyCartIsServedFromNegativeCache() {
+        long userId = 20L;
+
+        for (int i = 0; i < READS; i++) {
+            assertThat(cartService.getCartItems(userId)).isEmpty();
+        }
+
+        verify(cartItemRepository, times(1)).findByUserId(userId);
+    }
+
+    // 클라이언트가 보낸 명령 수 (스크립트 내부에서 실행된 HGET/HSET 등은 서버 안에서 처리되므로 제외)
+    private long roundTrips() {
+        Properties stats = stringRedisTemplate.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("commandstats"));
+        return calls(stats, "hgetall") + calls(stats, "evalsha") + calls(stats, "eval");
+    }
+
+    private static long calls(Properties stats, String command) {
+        String value = stats.getProperty("cmdstat_" + command);
+        if (value == null) {
+            return 0;
+        }
+        // calls=1,usec=...,usec_per_call=...
+        return Long.parseLong(value.substring("calls=".length(), value.indexOf(',')));
+    }
+}
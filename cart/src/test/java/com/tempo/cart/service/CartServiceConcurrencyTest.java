@@ -0,0 +1,115 @@
+package com.tempo.cart.service;
+
+import com.tempo.cart.domain.CartItemCache;
+import com.tempo.cart.dto.CartItemRequest;
+import com.tempo.cart.dto.CartItemResponse;
+import com.tempo.cart.repository.CartItemRepository;
+import com.tempo.cart.repository.CartStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 상품을 여러 탭에서 동시에 담아도 DB 와 Redis 모두 수량이 유실되지 않는지 확인한다. Docker 가 없으면 건너뛴다.
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class CartServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ADDS_PER_THREAD = 50;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+    }
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Test
+    void concurrentAddsNeverLoseQuantity() throws InterruptedException {
+        long userId = 100L;
+        long productId = 1L;
+        // 장바구니를 먼저 캐시에 올려 두고, 동시 추가가 캐시에도 반영되는지 함께 확인
+        assertThat(cartService.getCartItems(userId)).isEmpty();
+
+        runConcurrently(() -> cartService.addCartItem(CartItemRequest.builder()
+                .userId(userId)
+                .productId(productId)
+                .quantity(1)
+                .productName("동시성 상품")
+                .price(1000L)
+                .build()));
+
+        int expected = THREADS * ADDS_PER_THREAD;
+        assertThat(cartItemRepository.findByUserIdAndProductId(userId, productId).orElseThrow().getQuantity())
+                .isEqualTo(expected);
+        List<CartItemResponse> cached = cartService.getCartItems(userId);
+        assertThat(cached).hasSize(1);
+        assertThat(cached.get(0).getQuantity()).isEqualTo(expected);
+    }
+
+    @Test
+    void redisIncrementsAreLinearizable() throws InterruptedException {
+        long userId = 200L;
+        cartStore.saveLoaded(userId, List.of());
+        CartItemCache item = CartItemCache.builder()
+                .userId(userId)
+                .productId(1L)
+                .quantity(1)
+                .productName("동시성 상품")
+                .price(1000L)
+                .build();
+        Set<Long> observed = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(() -> observed.add(cartStore.incrementDirty(item, 1)));
+
+        // 모든 증가가 서로 다른 중간 값을 관찰했다면 각 증가는 하나의 순서로 적용된 것이다.
+        int expected = THREADS * ADDS_PER_THREAD;
+        assertThat(observed).isEqualTo(LongStream.rangeClosed(1, expected).boxed().collect(Collectors.toSet()));
+        assertThat(cartStore.findByUserId(userId).orElseThrow().get(0).getQuantity()).isEqualTo(expected);
+    }
+
+    private void runConcurrently(Runnable add) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ADDS_PER_THREAD; j++) {
+                    add.run();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+    }
+}
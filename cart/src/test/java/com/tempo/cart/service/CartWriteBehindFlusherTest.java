@@ -0,0 +1,105 @@
+package com.tempo.cart.service;
+
+import com.tempo.cart.domain.CartItem;
+import com.tempo.cart.dto.CartItemRequest;
+import com.tempo.cart.repository.CartItemRepository;
+import com.tempo.cart.repository.CartStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 반영 도중인 다른 인스턴스의 claim 을 건드리지 않는지, 반영 도중 종료된 claim 이 기한 뒤 넘겨받아 반영되는지 확인한다.
+// 스케줄 반영은 막고 flush() 를 직접 호출한다. Docker 가 없으면 건너뛴다.
+@SpringBootTest(properties = {
+        "cart.write-behind.enabled=true",
+        "cart.write-behind.flush-interval-ms=3600000",
+        "cart.write-behind.claim-timeout-ms=" + CartWriteBehindFlusherTest.CLAIM_TIMEOUT_MS
+})
+@Testcontainers(disabledWithoutDocker = true)
+class CartWriteBehindFlusherTest {
+
+    static final long CLAIM_TIMEOUT_MS = 1000;
+    private static final long USER_ID = 700L;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+    }
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartWriteBehindFlusher flusher;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    void otherInstancesClaimIsLeftAloneUntilItTimesOut() throws InterruptedException {
+        add(1L, 2);
+        // 다른 인스턴스가 목록을 가져간 뒤 반영하지 못하고 종료된 상황
+        String crashedClaim = cartStore.claimDirty().orElseThrow();
+        add(2L, 3);
+
+        flusher.flush();
+
+        // 이번 반영은 자신이 가져간 목록만 쓰고, 다른 인스턴스의 claim 은 지우지 않는다
+        assertThat(quantityInDb(2L)).isEqualTo(3);
+        assertThat(quantityInDb(1L)).isNull();
+        assertThat(stringRedisTemplate.hasKey(crashedClaim)).isTrue();
+
+        Thread.sleep(CLAIM_TIMEOUT_MS + 200);
+        flusher.flush();
+
+        assertThat(quantityInDb(1L)).isEqualTo(2);
+        assertThat(stringRedisTemplate.hasKey(crashedClaim)).isFalse();
+        assertThat(stringRedisTemplate.opsForZSet().size("cart:dirty:claims")).isZero();
+    }
+
+    @Test
+    void legacyProcessingKeyIsRecovered() {
+        add(3L, 4);
+        // 이전 버전이 반영 도중 남긴 처리용 키
+        stringRedisTemplate.rename("cart:dirty", "cart:dirty:processing");
+
+        flusher.flush();
+
+        assertThat(quantityInDb(3L)).isEqualTo(4);
+        assertThat(stringRedisTemplate.hasKey("cart:dirty:processing")).isFalse();
+    }
+
+    private void add(Long productId, int quantity) {
+        cartService.addCartItem(CartItemRequest.builder()
+                .userId(USER_ID)
+                .productId(productId)
+                .quantity(quantity)
+                .productName("상품" + productId)
+                .price(1000L)
+                .build());
+    }
+
+    private Integer quantityInDb(Long productId) {
+        return cartItemRepository.findByUserIdAndProductId(USER_ID, productId)
+                .map(CartItem::getQuantity)
+                .orElse(null);
+    }
+}
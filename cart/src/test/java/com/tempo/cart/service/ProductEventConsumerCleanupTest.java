@@ -0,0 +1,106 @@
+package com.tempo.cart.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// 종료 시 컨슈머 정리: pending 이 없으면 그룹에서 지우고, 남아 있으면 재처리할 수 있도록 남겨 둔다.
+// 구독이 같은 그룹에서 메시지를 가져가지 않도록 구독은 끄고 리스너를 직접 만든다. Docker 가 없으면 건너뛴다.
+@SpringBootTest(properties = "cart.product-events.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+class ProductEventConsumerCleanupTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+    }
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @BeforeEach
+    void createGroup() {
+        addEvent();
+        try {
+            stringRedisTemplate.opsForStream().createGroup(ProductEventListener.STREAM_KEY, ReadOffset.latest(),
+                    ProductEventListener.CONSUMER_GROUP);
+        } catch (RuntimeException e) {
+            // 앞선 테스트에서 이미 만든 그룹
+        }
+    }
+
+    @Test
+    void consumerWithoutPendingIsRemoved() {
+        ProductEventListener listener = listener("cart-drained");
+        addEvent();
+        MapRecord<String, Object, Object> record = readAs("cart-drained");
+        stringRedisTemplate.opsForStream().acknowledge(ProductEventListener.STREAM_KEY,
+                ProductEventListener.CONSUMER_GROUP, record.getId());
+
+        listener.removeConsumer();
+
+        assertThat(consumerNames()).doesNotContain("cart-drained");
+    }
+
+    @Test
+    void consumerWithPendingIsKeptForReclaim() {
+        ProductEventListener listener = listener("cart-pending");
+        addEvent();
+        readAs("cart-pending");
+
+        listener.removeConsumer();
+
+        assertThat(consumerNames()).contains("cart-pending");
+    }
+
+    private ProductEventListener listener(String consumerName) {
+        return new ProductEventListener(mock(CartProductSyncService.class), stringRedisTemplate, consumerName);
+    }
+
+    private void addEvent() {
+        stringRedisTemplate.opsForStream().add(StreamRecords.newRecord()
+                .in(ProductEventListener.STREAM_KEY)
+                .ofMap(Map.of("productId", "1", "name", "상품", "price", "1000")));
+    }
+
+    private MapRecord<String, Object, Object> readAs(String consumerName) {
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream().read(
+                Consumer.from(ProductEventListener.CONSUMER_GROUP, consumerName),
+                StreamReadOptions.empty().count(1),
+                StreamOffset.create(ProductEventListener.STREAM_KEY, ReadOffset.lastConsumed()));
+        assertThat(records).hasSize(1);
+        return records.get(0);
+    }
+
+    private List<String> consumerNames() {
+        return stringRedisTemplate.opsForStream()
+                .consumers(ProductEventListener.STREAM_KEY, ProductEventListener.CONSUMER_GROUP)
+                .stream()
+                .map(StreamInfo.XInfoConsumer::consumerName)
+                .toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.tempo.cart.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 처리에 실패해 pending 에 남은 상품 변경이 재처리 작업으로 다시 반영되고 ACK 되는지 확인한다.
+// Docker 가 없으면 건너뛴다.
+@SpringBootTest(properties = {
+        "cart.product-events.reclaim.min-idle-ms=0",
+        "cart.product-events.reclaim.interval-ms=3600000"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class ProductEventReclaimerTest {
+
+    private static final long PRODUCT_ID = 88L;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+    }
+
+    @MockitoSpyBean
+    private CartProductSyncService cartProductSyncService;
+
+    @Autowired
+    private ProductEventReclaimer reclaimer;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    void failedEventIsRetriedFromPendingList() throws InterruptedException {
+        doThrow(new IllegalStateException("일시 장애"))
+                .doCallRealMethod()
+                .when(cartProductSyncService).applyProductChange(eq(PRODUCT_ID), anyString(), anyLong());
+
+        stringRedisTemplate.opsForStream().add(StreamRecords.newRecord()
+                .in(ProductEventListener.STREAM_KEY)
+                .ofMap(Map.of("productId", String.valueOf(PRODUCT_ID), "name", "새 이름", "price", "1500")));
+
+        // 구독이 메시지를 읽고 실패해 pending 에 남을 때까지 기다린다
+        for (int i = 0; i < 50 && pendingCount() == 0; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(pendingCount()).isEqualTo(1);
+
+        reclaimer.reclaim();
+
+        assertThat(pendingCount()).isZero();
+        verify(cartProductSyncService, times(2)).applyProductChange(eq(PRODUCT_ID), anyString(), anyLong());
+    }
+
+    private long pendingCount() {
+        return stringRedisTemplate.opsForStream()
+                .pending(ProductEventListener.STREAM_KEY, ProductEventListener.CONSUMER_GROUP)
+                .getTotalPendingMessages();
+    }
+}
@@ -0,0 +1,33 @@
+// 플랫폼 스레드 모드와 가상 스레드 모드의 처리량/p99 비교용 k6 스크립트 (동시 연결 2,000)
+//
+// 1) 플랫폼 스레드:  ./gradlew bootRun
+//    가상 스레드:    ./gradlew bootRun -PvirtualThreads
+// 2) k6 run -e BASE_URL=http://localhost:8081 -e TARGET=/api/products/1 -e MODE=platform loadtest/virtual-threads.js
+//    k6 run -e BASE_URL=http://localhost:8081 -e TARGET=/api/products/1 -e MODE=virtual  loadtest/virtual-threads.js
+// 3) 두 실행의 http_reqs(처리량)와 http_req_duration p(99)를 비교한다.
+//
+// 대상 예시: product /api/products/1, cart /api/cart/1, payment /api/payments/1, user /api/users/me (Authorization 필요)
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const TARGET = __ENV.TARGET || '/api/products/1';
+const MODE = __ENV.MODE || 'platform';
+
+export const options = {
+    scenarios: {
+        connections: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 2000),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(90)', 'p(95)', 'p(99)', 'max'],
+    tags: { mode: MODE },
+};
+
+export default function () {
+    const headers = __ENV.AUTHORIZATION ? { Authorization: __ENV.AUTHORIZATION } : {};
+    const res = http.get(`${BASE_URL}${TARGET}`, { headers });
+    check(res, { 'status is 2xx': (r) => r.status >= 200 && r.status < 300 });
+}
@@ -1,36 +1,80 @@
 package com.tempo.order.client;
 
-import com.tempo.order.dto.ProductResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.tempo.order.dto.OrderLineRequest;
+import com.tempo.order.dto.StockReservationResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ProductClient {
     private final WebClient webClient;
 
-    public Mono<ProductResponse> getProduct(Long id) {
-        log.info("상품 조회 요청 - productId: {}", id);
-        return webClient.get()
-                .uri("/api/products/{id}", id)
+    // 주문의 모든 줄에 대한 재고 확인과 차감을 상품 서비스에서 한 번에 처리하고 줄마다 예약 ID를 받는다.
+    // 상품 서비스는 전부 예약하거나 하나도 예약하지 않으므로, 실패 시 되돌릴 예약이 없다.
+    public Mono<List<StockReservationResponse>> reserveStocks(List<OrderLineRequest> lines) {
+        log.debug("재고 일괄 예약 요청 - count: {}", lines.size());
+        List<Map<String, Object>> items = lines.stream()
+                .map(line -> Map.<String, Object>of("productId", line.getProductId(), "quantity", line.getQuantity()))
+                .toList();
+        return webClient.post()
+                .uri("/api/products/reservations/batch")
+                .bodyValue(Map.of("items", items))
                 .retrieve()
-                .bodyToMono(ProductResponse.class)
-                .doOnSuccess(response -> log.info("상품 조회 완료 - productId: {}, name: {}", id, response.getName()))
-                .doOnError(error -> log.error("상품 조회 실패 - productId: {}, error: {}", id, error.getMessage()));
+                .onStatus(HttpStatusCode::is4xxClientError, response -> response.bodyToMono(JsonNode.class)
+                        .map(body -> body.path("message").asText("재고 예약에 실패했습니다."))
+                        .defaultIfEmpty("재고 예약에 실패했습니다.")
+                        .map(IllegalStateException::new))
+                .bodyToFlux(StockReservationResponse.class)
+                .collectList()
+                .doOnSuccess(response -> log.debug("재고 일괄 예약 완료 - count: {}", response.size()))
+                .doOnError(error -> log.error("재고 일괄 예약 실패 - count: {}, error: {}",
+                        lines.size(), error.getMessage()));
+    }
+
+    public Mono<Void> confirmReservations(List<String> reservationIds) {
+        log.debug("재고 예약 일괄 확정 요청 - reservationIds: {}", reservationIds);
+        return webClient.post()
+                .uri("/api/products/reservations/batch/confirm")
+                .bodyValue(reservationIds)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .doOnSuccess(v -> log.debug("재고 예약 일괄 확정 완료 - reservationIds: {}", reservationIds))
+                .doOnError(error -> log.error("재고 예약 일괄 확정 실패 - reservationIds: {}, error: {}",
+                        reservationIds, error.getMessage()));
+    }
+
+    public Mono<Void> releaseReservations(List<String> reservationIds) {
+        log.debug("재고 예약 일괄 해제 요청 - reservationIds: {}", reservationIds);
+        return webClient.post()
+                .uri("/api/products/reservations/batch/release")
+                .bodyValue(reservationIds)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .doOnSuccess(v -> log.debug("재고 예약 일괄 해제 완료 - reservationIds: {}", reservationIds))
+                .doOnError(error -> log.error("재고 예약 일괄 해제 실패 - reservationIds: {}, error: {}",
+                        reservationIds, error.getMessage()));
     }
 
-    public Mono<Void> updateStock(Long id, Integer quantity) {
-        log.info("재고 업데이트 요청 - productId: {}, quantity: {}", id, quantity);
-        return webClient.put()
-                .uri("/api/products/{id}/stock?quantity={quantity}", id, quantity)
+    // 결제 취소: 확정된 예약은 재고를 복구하고 확정 전 예약은 해제한다 (이미 되돌린 예약은 건너뜀)
+    public Mono<Void> cancelReservations(List<String> reservationIds) {
+        log.debug("재고 예약 일괄 취소 요청 - reservationIds: {}", reservationIds);
+        return webClient.post()
+                .uri("/api/products/reservations/batch/cancel")
+                .bodyValue(reservationIds)
                 .retrieve()
                 .bodyToMono(Void.class)
-                .doOnSuccess(v -> log.info("재고 업데이트 완료 - productId: {}, quantity: {}", id, quantity))
-                .doOnError(error -> log.error("재고 업데이트 실패 - productId: {}, quantity: {}, error: {}",
-                        id, quantity, error.getMessage()));
+                .doOnSuccess(v -> log.debug("재고 예약 일괄 취소 완료 - reservationIds: {}", reservationIds))
+                .doOnError(error -> log.error("재고 예약 일괄 취소 실패 - reservationIds: {}, error: {}",
+                        reservationIds, error.getMessage()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package com.tempo.order.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// 외부 호출 access log (method, URI 템플릿, status, 소요 시간)
+// - 요청마다 로그를 남기지 않고 URI 템플릿별 카운터에 누적한 뒤 주기적으로 요약 한 줄씩 출력한다
+// - 개별 요청 로그는 sample-rate 분의 1 만 남기고, 5xx/예외는 항상 남긴다
+// - "outbound-access" 로거는 logback 에서 비동기 appender 로 연결된다
+@Slf4j(topic = "outbound-access")
+@Component
+public class OutboundAccessLogFilter implements ExchangeFilterFunction {
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+    private static final int STATUS_ERROR = 0;
+
+    private final int sampleRate;
+    private final ConcurrentMap<HttpMethod, ConcurrentMap<String, RouteStats>> stats = new ConcurrentHashMap<>();
+
+    public OutboundAccessLogFilter(@Value("${outbound-access-log.sample-rate:100}") int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        long startedAt = System.nanoTime();
+        return next.exchange(request)
+                .doOnNext(response -> record(request, response.statusCode().value(), startedAt))
+                .doOnError(error -> record(request, STATUS_ERROR, startedAt));
+    }
+
+    @Scheduled(fixedDelayString = "${outbound-access-log.summary-interval-ms:60000}")
+    public void logSummary() {
+        stats.forEach((method, routes) -> routes.forEach((uriTemplate, route) -> route.logAndReset(method, uriTemplate)));
+    }
+
+    private void record(ClientRequest request, int status, long startedAt) {
+        long elapsedNanos = System.nanoTime() - startedAt;
+        Object template = request.attributes().get(URI_TEMPLATE_ATTRIBUTE);
+        String uriTemplate = template != null ? template.toString() : request.url().getPath();
+
+        stats.computeIfAbsent(request.method(), method -> new ConcurrentHashMap<>())
+                .computeIfAbsent(uriTemplate, key -> new RouteStats())
+                .record(status, elapsedNanos);
+
+        if (status == STATUS_ERROR || status >= 500) {
+            log.warn("{} {} status={} durationMs={}", request.method(), uriTemplate,
+                    status == STATUS_ERROR ? "ERROR" : status, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0 && log.isInfoEnabled()) {
+            log.info("{} {} status={} durationMs={}", request.method(), uriTemplate,
+                    status, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+
+    private static final class RouteStats {
+        // 상태 코드 분류별 건수: [0] 예외, [1] 1xx, [2] 2xx, [3] 3xx, [4] 4xx, [5] 5xx
+        private final LongAdder[] counts = new LongAdder[6];
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        RouteStats() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        void record(int status, long elapsedNanos) {
+            int statusClass = status / 100;
+            counts[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+        }
+
+        void logAndReset(HttpMethod method, String uriTemplate) {
+            long[] snapshot = new long[counts.length];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                snapshot[i] = counts[i].sumThenReset();
+                total += snapshot[i];
+            }
+            long nanos = totalNanos.sumThenReset();
+            long max = maxNanos.getThenReset();
+            if (total == 0) {
+                return;
+            }
+            log.info("summary {} {} count={} 2xx={} 3xx={} 4xx={} 5xx={} error={} avgMs={} maxMs={}",
+                    method, uriTemplate, total, snapshot[2], snapshot[3], snapshot[4], snapshot[5], snapshot[0],
+                    TimeUnit.NANOSECONDS.toMillis(nanos / total), TimeUnit.NANOSECONDS.toMillis(max));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.tempo.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class SchedulerConfig {
+
+    // 블로킹 JDBC 작업 전용 스케줄러 (WebClient 이벤트 루프 스레드에서 DB 작업이 실행되지 않도록 분리)
+    // 스레드 수는 커넥션 풀 크기에 맞춘다.
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(
+            @Value("${order.jdbc-scheduler.thread-cap:10}") int threadCap,
+            @Value("${order.jdbc-scheduler.queued-task-cap:10000}") int queuedTaskCap) {
+        return Schedulers.newBoundedElastic(threadCap, queuedTaskCap, "order-jdbc");
+    }
+}
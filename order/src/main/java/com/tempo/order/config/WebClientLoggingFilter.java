@@ -1,25 +0,0 @@
-package com.tempo.order.config;
-
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
-import reactor.core.publisher.Mono;
-
-@Slf4j
-public class WebClientLoggingFilter {
-
-    public static ExchangeFilterFunction logRequest() {
-        return ExchangeFilterFunction.ofRequestProcessor(clientRequest -> {
-            log.info("Request: {} {}", clientRequest.method(), clientRequest.url());
-            clientRequest.headers()
-                    .forEach((name, values) -> values.forEach(value -> log.debug("{}={}", name, value)));
-            return Mono.just(clientRequest);
-        });
-    }
-
-    public static ExchangeFilterFunction logResponse() {
-        return ExchangeFilterFunction.ofResponseProcessor(clientResponse -> {
-            log.info("Response status: {}", clientResponse.statusCode());
-            return Mono.just(clientResponse);
-        });
-    }
-}
\ No newline at end of file
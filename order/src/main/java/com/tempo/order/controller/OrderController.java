@@ -1,20 +1,32 @@
 package com.tempo.order.controller;
 
-import com.tempo.order.domain.OrderHistory;
 import com.tempo.order.dto.OrderHistoryResponse;
 import com.tempo.order.dto.OrderRequest;
 import com.tempo.order.dto.OrderResponse;
+import com.tempo.order.dto.OrderSearchCondition;
 import com.tempo.order.dto.OrderStatusUpdateRequest;
+import com.tempo.order.dto.OrderSummaryResponse;
+import com.tempo.order.dto.PaymentNotificationRequest;
+import com.tempo.order.dto.PaymentNotificationResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tempo.order.domain.OrderStatus;
+import com.tempo.order.service.OrderIdempotencyService;
 import com.tempo.order.service.OrderService;
+import com.tempo.order.service.PaymentNotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -22,12 +34,21 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderController {
     private final OrderService orderService;
+    private final OrderIdempotencyService idempotencyService;
+    private final PaymentNotificationService paymentNotificationService;
+    private final ObjectMapper objectMapper;
 
+    // Idempotency-Key 를 주면 같은 키의 재시도에는 처음 만든 주문을 그대로 돌려준다
     @PostMapping
-    public Mono<ResponseEntity<OrderResponse>> createOrder(@RequestBody OrderRequest request) {
-        log.info("주문 생성 요청 수신 - productId: {}, quantity: {}",
-                request.getProductId(), request.getQuantity());
-        return orderService.createOrder(request)
+    public Mono<ResponseEntity<OrderResponse>> createOrder(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody OrderRequest request) {
+        log.info("주문 생성 요청 수신 - lines: {}, idempotencyKey: {}", request.orderLines().size(), idempotencyKey);
+        Mono<OrderResponse> order = idempotencyKey == null
+                ? orderService.createOrder(request)
+                : idempotencyService.createOrder(idempotencyKey, request,
+                        onSaved -> orderService.createOrder(request, onSaved));
+        return order
                 .map(response -> {
                     log.info("주문 생성 완료 - orderId: {}", response.getId());
                     return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -35,6 +56,41 @@ public class OrderController {
                 .doOnError(error -> log.error("주문 생성 실패 - error: {}", error.getMessage()));
     }
 
+    // 주문 목록 (최신순 keyset 페이지네이션: 다음 페이지는 마지막 주문의 id 를 before 로 넘긴다)
+    @GetMapping
+    public ResponseEntity<List<OrderSummaryResponse>> searchOrders(
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit) {
+        OrderSearchCondition condition = new OrderSearchCondition(productId, status, createdFrom, createdTo);
+        return ResponseEntity.ok(orderService.searchOrders(condition, before, limit));
+    }
+
+    // 대량 내보내기: 조건에 맞는 주문 전체를 NDJSON(한 줄에 주문 하나)으로 흘려보낸다
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        OrderSearchCondition condition = new OrderSearchCondition(productId, status, createdFrom, createdTo);
+        log.info("주문 내보내기 요청 - productId: {}, status: {}", productId, status);
+        StreamingResponseBody body = outputStream -> orderService.exportOrders(condition, order -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(order));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PutMapping("/{orderId}/status")
     public ResponseEntity<OrderResponse> updateOrderStatus(
             @PathVariable Long orderId,
@@ -43,20 +99,30 @@ public class OrderController {
         return ResponseEntity.ok(orderService.updateOrderStatus(orderId, request.getStatus()));
     }
 
+    // 최신순 keyset 페이지네이션: 다음 페이지는 마지막 항목의 id 를 before 로 넘긴다
     @GetMapping("/{orderId}/history")
-    public ResponseEntity<List<OrderHistoryResponse>> getOrderHistory(@PathVariable Long orderId) {
-        List<OrderHistory> histories = orderService.getOrderHistory(orderId);
-        List<OrderHistoryResponse> response = histories.stream()
-                .map(OrderHistoryResponse::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<OrderHistoryResponse>> getOrderHistory(
+            @PathVariable Long orderId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getOrderHistory(orderId, before, limit));
     }
 
     @PutMapping("/{orderId}/payment/complete")
-    public ResponseEntity<OrderResponse> completePayment(@PathVariable Long orderId) {
+    public Mono<ResponseEntity<OrderResponse>> completePayment(@PathVariable Long orderId) {
         log.info("주문 결제 완료 처리 요청 - orderId: {}", orderId);
-        OrderResponse response = orderService.completePayment(orderId);
-        log.info("주문 결제 완료 처리 완료 - orderId: {}", orderId);
-        return ResponseEntity.ok(response);
+        return orderService.completePayment(orderId)
+                .map(response -> {
+                    log.info("주문 결제 완료 처리 완료 - orderId: {}", orderId);
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    // 결제 서비스 outbox 릴레이가 보내는 결제 완료/실패/취소 알림 일괄 반영
+    @PostMapping("/payment-notifications")
+    public ResponseEntity<List<PaymentNotificationResult>> applyPaymentNotifications(
+            @RequestBody List<PaymentNotificationRequest> requests) {
+        log.info("결제 알림 일괄 반영 요청 - count: {}", requests.size());
+        return ResponseEntity.ok(paymentNotificationService.applyNotifications(requests));
     }
-}
\ No newline at end of file
+}
@@ -6,11 +6,19 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
+// 목록 조회(GET /api/orders)는 필터 + id 내림차순 keyset 이라 필터 컬럼 뒤에 id 를 둔 인덱스를 쓴다.
+// 상품 필터는 order_lines 의 (product_id, order_id) 인덱스를 쓴다.
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status_id", columnList = "status, id"),
+        @Index(name = "idx_orders_created_at", columnList = "created_at")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order {
@@ -18,32 +26,60 @@ public class Order {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private Long productId;
-    private Integer quantity;
+    // 주문 줄은 주문과 함께 저장된다 (주문 저장 시 cascade)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.PERSIST)
+    @OrderBy("id")
+    private List<OrderLine> lines = new ArrayList<>();
 
+    // 목록 조회에서 줄을 읽지 않도록 요약 값을 주문에 함께 둔다
+    private Integer lineCount;
+    private Integer totalQuantity;
+
+    // 상태 변경 이력은 order_events 테이블에 따로 쌓는다 (OrderEvent)
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
-    @ElementCollection
-    @CollectionTable(name = "order_status_changes",
-            joinColumns = @JoinColumn(name = "order_id"))
-    @OrderBy("createdAt DESC")
-    private List<OrderStatusChange> statusChanges = new ArrayList<>();
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // 상태 변경은 읽고 확인한 뒤 저장하므로, 그 사이 다른 요청이 상태를 바꿨으면 저장이 실패해야 한다
+    // (결제 알림 일괄 반영과 completePayment 가 같은 주문을 동시에 바꾸는 경우)
+    @Version
+    private Long version;
 
     @Builder
-    public Order(Long productId, Integer quantity) {
-        this.productId = productId;
-        this.quantity = quantity;
+    public Order(List<OrderLine> lines) {
+        lines.forEach(line -> {
+            line.assignTo(this);
+            this.lines.add(line);
+        });
+        this.lineCount = lines.size();
+        this.totalQuantity = lines.stream().mapToInt(OrderLine::getQuantity).sum();
         this.status = OrderStatus.CREATED;
-        addStatusChange(OrderStatus.CREATED);
+        this.createdAt = LocalDateTime.now();
     }
 
-    public void updateStatus(OrderStatus newStatus) {
-        this.status = newStatus;
-        addStatusChange(newStatus);
+    // 결제 확정/해제 대상 예약 ID (지연 로딩이므로 트랜잭션 안에서 호출하거나 줄을 함께 조회한 주문에서 호출)
+    public List<String> getReservationIds() {
+        return lines.stream()
+                .map(OrderLine::getReservationId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
-    private void addStatusChange(OrderStatus status) {
-        this.statusChanges.add(new OrderStatusChange(status));
+    // 저장된 주문의 생성 이벤트 (id 가 필요하므로 저장 후 호출)
+    public OrderEvent createdEvent(String message) {
+        return new OrderEvent(id, null, OrderStatus.CREATED, message);
+    }
+
+    // 상태를 바꾸고 추가할 이벤트를 돌려준다 (저장은 호출한 쪽에서 OrderEventRepository 로)
+    // 옮겨갈 수 없는 상태면 IllegalStateException (취소된 주문이 늦게 온 결제 완료로 되살아나지 않도록)
+    public OrderEvent updateStatus(OrderStatus newStatus, String message) {
+        if (!status.canTransitionTo(newStatus)) {
+            throw new IllegalStateException("주문 상태를 " + status + " 에서 " + newStatus + " 로 바꿀 수 없습니다.");
+        }
+        OrderStatus previousStatus = this.status;
+        this.status = newStatus;
+        return new OrderEvent(id, previousStatus, newStatus, message);
     }
 }
@@ -0,0 +1,50 @@
+package com.tempo.order.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// 주문 상태 변경 이벤트 (추가만 하고 수정/삭제하지 않는 로그)
+// 상태 변경 1건 = INSERT 1건이며, 주문의 이력이 길어져도 쓰기 비용이 늘지 않는다.
+// 상태 변경 이력(getOrderStatusChanges)과 주문 히스토리(getOrderHistory) 모두 이 테이블에서 읽는다.
+@Entity
+@Immutable
+@Table(name = "order_events", indexes = @Index(name = "idx_order_events_order_id", columnList = "order_id, id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderEvent {
+    // 여러 주문의 이벤트를 한 번에 저장할 때 JDBC 배치가 되도록 시퀀스에서 미리 할당받는다.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_events_seq")
+    @SequenceGenerator(name = "order_events_seq", sequenceName = "order_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private OrderStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private OrderStatus newStatus;
+
+    @Column(updatable = false)
+    private String message;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    OrderEvent(Long orderId, OrderStatus previousStatus, OrderStatus newStatus, String message) {
+        this.orderId = orderId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.message = message;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,58 @@
+package com.tempo.order.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// 주문 생성 요청의 Idempotency-Key (클라이언트 재시도로 같은 주문이 두 번 만들어지지 않게 하기 위함)
+// 처리를 시작할 때 키를 먼저 INSERT 해 선점하고(PK 중복이면 다른 요청이 이미 선점), 주문이 만들어지면 orderId 를 채운다.
+// 선점은 claimToken 으로 구분하며, claimedAt 으로부터 제한 시간이 지나도록 끝나지 않으면 다른 요청이 새 토큰으로 넘겨받을 수 있다.
+@Entity
+@Table(name = "order_idempotency_keys",
+        indexes = @Index(name = "idx_order_idempotency_keys_created_at", columnList = "created_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderIdempotencyKey implements Persistable<String> {
+    @Id
+    private String idempotencyKey;
+
+    // 같은 키로 다른 내용의 주문을 보냈는지 확인하기 위한 요청 지문
+    @Column(nullable = false)
+    private String requestFingerprint;
+
+    // null 이면 아직 처리 중
+    private Long orderId;
+
+    // 현재 선점한 요청의 토큰 (이 토큰을 가진 요청만 주문 ID 를 기록하거나 선점을 풀 수 있다)
+    @Column(nullable = false)
+    private String claimToken;
+
+    @Column(nullable = false)
+    private LocalDateTime claimedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public OrderIdempotencyKey(String idempotencyKey, String requestFingerprint, String claimToken) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestFingerprint = requestFingerprint;
+        this.claimToken = claimToken;
+        this.createdAt = LocalDateTime.now();
+        this.claimedAt = this.createdAt;
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    // 선점은 항상 INSERT 로 시도해야 PK 중복으로 경합을 감지할 수 있다 (merge 전 SELECT 생략)
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,47 @@
+package com.tempo.order.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 주문 한 줄 (상품 하나와 수량, 그 줄의 재고 예약 ID)
+// 주문 한 건의 줄들은 한 트랜잭션에서 JDBC 배치로 INSERT 되도록 시퀀스 id 를 미리 할당받는다.
+@Entity
+@Table(name = "order_lines", indexes = {
+        @Index(name = "idx_order_lines_order_id", columnList = "order_id"),
+        @Index(name = "idx_order_lines_product_id_order_id", columnList = "product_id, order_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderLine {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_lines_seq")
+    @SequenceGenerator(name = "order_lines_seq", sequenceName = "order_lines_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    // 상품 서비스에서 발급한 재고 예약 ID (결제 완료 시 확정, 미결제 시 만료로 재고 복구)
+    private String reservationId;
+
+    @Builder
+    public OrderLine(Long productId, Integer quantity, String reservationId) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.reservationId = reservationId;
+    }
+
+    void assignTo(Order order) {
+        this.order = order;
+    }
+}
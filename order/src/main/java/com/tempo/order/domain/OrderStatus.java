@@ -1,5 +1,8 @@
 package com.tempo.order.domain;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     CREATED,           // 주문 생성
     PAYMENT_PENDING,   // 결제 진행 중
@@ -7,5 +10,28 @@ public enum OrderStatus {
     PAYMENT_FAILED,    // 결제 실패
     CONFIRMED,         // 주문 확정
     CANCELLED,         // 주문 취소
-    COMPLETED         // 주문 완료
-}
\ No newline at end of file
+    COMPLETED;         // 주문 완료
+
+    // 이 상태에서 옮겨갈 수 있는 상태 (취소/완료된 주문은 더 바뀌지 않는다)
+    // 결제 실패 알림을 반영하면 재고 예약을 해제하므로, 결제 실패한 주문은 취소만 가능하다 (다시 결제하려면 새 주문을 만든다)
+    public boolean canTransitionTo(OrderStatus next) {
+        return nextStatuses().contains(next);
+    }
+
+    private Set<OrderStatus> nextStatuses() {
+        switch (this) {
+            case CREATED:
+                return EnumSet.of(PAYMENT_PENDING, PAYMENT_COMPLETED, PAYMENT_FAILED, CANCELLED);
+            case PAYMENT_PENDING:
+                return EnumSet.of(PAYMENT_COMPLETED, PAYMENT_FAILED, CANCELLED);
+            case PAYMENT_FAILED:
+                return EnumSet.of(CANCELLED);
+            case PAYMENT_COMPLETED:
+                return EnumSet.of(CONFIRMED, CANCELLED);
+            case CONFIRMED:
+                return EnumSet.of(COMPLETED, CANCELLED);
+            default:
+                return EnumSet.noneOf(OrderStatus.class);
+        }
+    }
+}
@@ -1,25 +0,0 @@
-package com.tempo.order.domain;
-
-import jakarta.persistence.Embeddable;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
-import lombok.AccessLevel;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-
-import java.time.LocalDateTime;
-
-@Embeddable
-@Getter
-@NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class OrderStatusChange {
-    @Enumerated(EnumType.STRING)
-    private OrderStatus status;
-
-    private LocalDateTime createdAt;
-
-    public OrderStatusChange(OrderStatus status) {
-        this.status = status;
-        this.createdAt = LocalDateTime.now();
-    }
-}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.tempo.order.domain;
+
+public enum PaymentNotificationType {
+    COMPLETED,  // 결제 완료
+    FAILED,     // 결제 실패
+    CANCELLED;  // 결제 취소
+
+    // 알림 유형에 따라 바뀔 주문 상태
+    public OrderStatus targetStatus() {
+        switch (this) {
+            case COMPLETED:
+                return OrderStatus.PAYMENT_COMPLETED;
+            case FAILED:
+                return OrderStatus.PAYMENT_FAILED;
+            default:
+                return OrderStatus.CANCELLED;
+        }
+    }
+}
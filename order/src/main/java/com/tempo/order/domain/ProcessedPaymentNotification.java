@@ -0,0 +1,46 @@
+package com.tempo.order.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// 이미 반영한 결제 알림의 idempotencyKey (결제 서비스의 재전송을 중복 반영하지 않기 위함)
+@Entity
+@Table(name = "processed_payment_notifications")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProcessedPaymentNotification implements Persistable<String> {
+    @Id
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentNotificationType type;
+
+    private LocalDateTime processedAt;
+
+    public ProcessedPaymentNotification(String idempotencyKey, Long orderId, PaymentNotificationType type) {
+        this.idempotencyKey = idempotencyKey;
+        this.orderId = orderId;
+        this.type = type;
+        this.processedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    // 생성 후 수정하지 않으므로 항상 새 엔티티로 저장 (merge 전 SELECT 생략)
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -1,6 +1,5 @@
 package com.tempo.order.dto;
 
-import com.tempo.order.domain.OrderHistory;
 import com.tempo.order.domain.OrderStatus;
 import lombok.Getter;
 
@@ -15,12 +14,14 @@ public class OrderHistoryResponse {
     private final String message;
     private final LocalDateTime createdAt;
 
-    public OrderHistoryResponse(OrderHistory history) {
-        this.id = history.getId();
-        this.orderId = history.getOrderId();
-        this.previousStatus = history.getPreviousStatus();
-        this.newStatus = history.getNewStatus();
-        this.message = history.getMessage();
-        this.createdAt = history.getCreatedAt();
+    // OrderEventRepository.findHistory/findHistoryBefore 의 JPQL 생성자 프로젝션에서 사용
+    public OrderHistoryResponse(Long id, Long orderId, OrderStatus previousStatus, OrderStatus newStatus,
+                                String message, LocalDateTime createdAt) {
+        this.id = id;
+        this.orderId = orderId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.message = message;
+        this.createdAt = createdAt;
     }
-}
\ No newline at end of file
+}
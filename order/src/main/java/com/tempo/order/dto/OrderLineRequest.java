@@ -0,0 +1,18 @@
+package com.tempo.order.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class OrderLineRequest {
+    private Long productId;
+    private Integer quantity;
+
+    @Builder
+    public OrderLineRequest(Long productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+}
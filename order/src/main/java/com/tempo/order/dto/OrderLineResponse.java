@@ -0,0 +1,15 @@
+package com.tempo.order.dto;
+
+import com.tempo.order.domain.OrderLine;
+import lombok.Getter;
+
+@Getter
+public class OrderLineResponse {
+    private final Long productId;
+    private final Integer quantity;
+
+    public OrderLineResponse(OrderLine line) {
+        this.productId = line.getProductId();
+        this.quantity = line.getQuantity();
+    }
+}
@@ -4,15 +4,30 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
+// 여러 상품 주문은 lines 로 보낸다. lines 없이 productId/quantity 만 보내면 한 줄짜리 주문으로 처리한다.
 @Getter
 @NoArgsConstructor
 public class OrderRequest {
     private Long productId;
     private Integer quantity;
+    private List<OrderLineRequest> lines;
 
     @Builder
-    public OrderRequest(Long productId, Integer quantity) {
+    public OrderRequest(Long productId, Integer quantity, List<OrderLineRequest> lines) {
         this.productId = productId;
         this.quantity = quantity;
+        this.lines = lines;
+    }
+
+    public List<OrderLineRequest> orderLines() {
+        if (lines != null && !lines.isEmpty()) {
+            return lines;
+        }
+        if (productId == null && quantity == null) {
+            return List.of();
+        }
+        return List.of(new OrderLineRequest(productId, quantity));
     }
-}
\ No newline at end of file
+}
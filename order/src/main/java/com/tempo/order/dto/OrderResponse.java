@@ -5,19 +5,25 @@ import com.tempo.order.domain.OrderStatus;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Getter
 
 public class OrderResponse {
     private final Long id;
-    private final Long productId;
-    private final Integer quantity;
+    private final List<OrderLineResponse> lines;
+    private final Integer totalQuantity;
     private final OrderStatus status;
 
+    // lines 는 지연 로딩이므로 트랜잭션 안에서 생성한다
     @Builder
     public OrderResponse(Order order) {
         this.id = order.getId();
-        this.productId = order.getProductId();
-        this.quantity = order.getQuantity();
+        this.lines = order.getLines().stream()
+                .map(OrderLineResponse::new)
+                .collect(Collectors.toList());
+        this.totalQuantity = order.getTotalQuantity();
         this.status = order.getStatus();
     }
 }
@@ -0,0 +1,24 @@
+package com.tempo.order.dto;
+
+import com.tempo.order.domain.OrderStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// GET /api/orders 필터 (모두 선택, productId 는 그 상품이 담긴 주문, createdFrom 이상 createdTo 미만)
+@Getter
+public class OrderSearchCondition {
+    private final Long productId;
+    private final OrderStatus status;
+    private final LocalDateTime createdFrom;
+    private final LocalDateTime createdTo;
+
+    @Builder
+    public OrderSearchCondition(Long productId, OrderStatus status, LocalDateTime createdFrom, LocalDateTime createdTo) {
+        this.productId = productId;
+        this.status = status;
+        this.createdFrom = createdFrom;
+        this.createdTo = createdTo;
+    }
+}
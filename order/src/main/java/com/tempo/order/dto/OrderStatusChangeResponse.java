@@ -1,7 +1,7 @@
 package com.tempo.order.dto;
 
+import com.tempo.order.domain.OrderEvent;
 import com.tempo.order.domain.OrderStatus;
-import com.tempo.order.domain.OrderStatusChange;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
@@ -11,8 +11,8 @@ public class OrderStatusChangeResponse {
     private final OrderStatus status;
     private final LocalDateTime createdAt;
 
-    public OrderStatusChangeResponse(OrderStatusChange change) {
-        this.status = change.getStatus();
-        this.createdAt = change.getCreatedAt();
+    public OrderStatusChangeResponse(OrderEvent event) {
+        this.status = event.getNewStatus();
+        this.createdAt = event.getCreatedAt();
     }
-}
\ No newline at end of file
+}
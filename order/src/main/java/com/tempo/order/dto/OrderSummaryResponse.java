@@ -0,0 +1,24 @@
+package com.tempo.order.dto;
+
+import com.tempo.order.domain.OrderStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 주문 목록/내보내기용 프로젝션 (엔티티를 적재하지 않고 JPQL 생성자 표현식으로 바로 만든다)
+@Getter
+public class OrderSummaryResponse {
+    private final Long id;
+    private final Integer lineCount;
+    private final Integer totalQuantity;
+    private final OrderStatus status;
+    private final LocalDateTime createdAt;
+
+    public OrderSummaryResponse(Long id, Integer lineCount, Integer totalQuantity, OrderStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.lineCount = lineCount;
+        this.totalQuantity = totalQuantity;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+}
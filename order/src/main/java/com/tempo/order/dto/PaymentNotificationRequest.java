@@ -0,0 +1,31 @@
+package com.tempo.order.dto;
+
+import com.tempo.order.domain.PaymentNotificationType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+public class PaymentNotificationRequest {
+    private String idempotencyKey;
+    private Long orderId;
+    private PaymentNotificationType type;
+    private String paymentKey;
+    private String paymentMethod;
+    private String reason;
+    private LocalDateTime occurredAt;
+
+    @Builder
+    public PaymentNotificationRequest(String idempotencyKey, Long orderId, PaymentNotificationType type,
+                                      String paymentKey, String reason) {
+        this.idempotencyKey = idempotencyKey;
+        this.orderId = orderId;
+        this.type = type;
+        this.paymentKey = paymentKey;
+        this.reason = reason;
+        this.occurredAt = LocalDateTime.now();
+    }
+}
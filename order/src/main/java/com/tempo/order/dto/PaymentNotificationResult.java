@@ -0,0 +1,40 @@
+package com.tempo.order.dto;
+
+import lombok.Getter;
+
+// 결제 알림 항목별 처리 결과 (결제 서비스는 APPLIED, DUPLICATE, IGNORED 를 전송 완료로 본다)
+@Getter
+public class PaymentNotificationResult {
+    public enum Result {
+        APPLIED,    // 이번 요청으로 반영
+        DUPLICATE,  // 이미 반영된 알림
+        IGNORED,    // 현재 주문 상태로는 반영할 수 없는 알림 (재시도해도 같으므로 버림)
+        REJECTED    // 반영 실패 (재시도 대상)
+    }
+
+    private final String idempotencyKey;
+    private final Result result;
+    private final String message;
+
+    private PaymentNotificationResult(String idempotencyKey, Result result, String message) {
+        this.idempotencyKey = idempotencyKey;
+        this.result = result;
+        this.message = message;
+    }
+
+    public static PaymentNotificationResult applied(String idempotencyKey) {
+        return new PaymentNotificationResult(idempotencyKey, Result.APPLIED, null);
+    }
+
+    public static PaymentNotificationResult duplicate(String idempotencyKey) {
+        return new PaymentNotificationResult(idempotencyKey, Result.DUPLICATE, null);
+    }
+
+    public static PaymentNotificationResult ignored(String idempotencyKey, String message) {
+        return new PaymentNotificationResult(idempotencyKey, Result.IGNORED, message);
+    }
+
+    public static PaymentNotificationResult rejected(String idempotencyKey, String message) {
+        return new PaymentNotificationResult(idempotencyKey, Result.REJECTED, message);
+    }
+}
@@ -1,15 +0,0 @@
-package com.tempo.order.dto;
-
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-
-import java.math.BigDecimal;
-
-@Getter
-@NoArgsConstructor
-public class ProductResponse {
-    private Long id;
-    private String name;
-    private BigDecimal price;
-    private Integer stock;
-}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.tempo.order.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,6 +23,13 @@ public class GlobalExceptionHandler {
         return createErrorResponse(HttpStatus.CONFLICT, e.getMessage());
     }
 
+    // 같은 주문을 동시에 바꾼 경우 (Order @Version): 다시 조회해 재시도하면 된다
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        log.error("동시 변경 충돌: {}", e.getMessage(), e);
+        return createErrorResponse(HttpStatus.CONFLICT, "주문이 동시에 변경되었습니다. 다시 시도해 주세요.");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         log.error("서버 내부 오류: {}", e.getMessage(), e);
@@ -0,0 +1,36 @@
+package com.tempo.order.repository;
+
+import com.tempo.order.domain.OrderEvent;
+import com.tempo.order.dto.OrderHistoryResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+    // (order_id, id) 인덱스로 최신 이벤트부터 조회
+    List<OrderEvent> findByOrderIdOrderByIdDesc(Long orderId);
+
+    // 주문 히스토리 첫 페이지를 DTO 로 바로 조회 (엔티티 적재 없음)
+    @Query("select new com.tempo.order.dto.OrderHistoryResponse("
+            + "e.id, e.orderId, e.previousStatus, e.newStatus, e.message, e.createdAt) "
+            + "from OrderEvent e "
+            + "where e.orderId = :orderId "
+            + "order by e.id desc")
+    List<OrderHistoryResponse> findHistory(@Param("orderId") Long orderId, Pageable pageable);
+
+    // 다음 페이지: before(직전 페이지 마지막 이벤트 id)보다 작은 id 만 읽는 keyset 방식이라 인덱스 범위 탐색 한 번으로 끝난다.
+    // (:before is null or ...) 로 한 쿼리에 합치면 플래너가 범위 조건을 쓰지 못할 수 있어 쿼리를 나눈다.
+    @Query("select new com.tempo.order.dto.OrderHistoryResponse("
+            + "e.id, e.orderId, e.previousStatus, e.newStatus, e.message, e.createdAt) "
+            + "from OrderEvent e "
+            + "where e.orderId = :orderId and e.id < :before "
+            + "order by e.id desc")
+    List<OrderHistoryResponse> findHistoryBefore(@Param("orderId") Long orderId,
+                                                 @Param("before") Long before,
+                                                 Pageable pageable);
+}
@@ -1,12 +0,0 @@
-package com.tempo.order.repository;
-
-import com.tempo.order.domain.OrderHistory;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.List;
-
-@Repository
-public interface OrderHistoryRepository extends JpaRepository<OrderHistory, Long> {
-    List<OrderHistory> findByIdOrderByCreatedAtDesc(Long orderId);
-}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.tempo.order.repository;
+
+import com.tempo.order.domain.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, String> {
+
+    // 선점한 키에 생성된 주문 ID 기록 (주문 저장 트랜잭션 안에서 호출된다)
+    // 선점이 다른 요청에 넘어갔으면 0 건이 갱신되며, 호출한 쪽은 주문 저장을 롤백해야 한다.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderIdempotencyKey k SET k.orderId = :orderId " +
+            "WHERE k.idempotencyKey = :key AND k.claimToken = :claimToken AND k.orderId IS NULL")
+    int complete(@Param("key") String key, @Param("claimToken") String claimToken, @Param("orderId") Long orderId);
+
+    // 선점 제한 시간이 지난 키를 새 토큰으로 넘겨받기 (그 사이 다른 요청이 먼저 넘겨받았으면 0 건)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OrderIdempotencyKey k SET k.claimToken = :newToken, k.claimedAt = :claimedAt " +
+            "WHERE k.idempotencyKey = :key AND k.claimToken = :previousToken AND k.orderId IS NULL")
+    int takeOver(@Param("key") String key, @Param("previousToken") String previousToken,
+                 @Param("newToken") String newToken, @Param("claimedAt") LocalDateTime claimedAt);
+
+    // 주문 생성에 실패한 키의 선점 해제 (같은 키로 다시 시도할 수 있게)
+    // isNew() 가 항상 true 라 deleteById 는 아무것도 지우지 않으므로 쿼리로 삭제한다.
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OrderIdempotencyKey k " +
+            "WHERE k.idempotencyKey = :key AND k.claimToken = :claimToken AND k.orderId IS NULL")
+    int release(@Param("key") String key, @Param("claimToken") String claimToken);
+
+    // 보관 기간이 지난 키 삭제 (처리 중에 멈춘 키도 함께 정리된다)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,24 +1,21 @@
 package com.tempo.order.repository;
 
 import com.tempo.order.domain.Order;
-import com.tempo.order.domain.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository {
     // 주문 ID로 주문 엔티티 조회
     Optional<Order> findById(Long id);
 
-    // 상품 ID로 주문 목록 조회
-    List<Order> findByProductId(Long productId);
-
-    // 주문 상태로 주문 목록 조회
-    List<Order> findByStatus(OrderStatus status);
-
-    // 상품 ID와 주문 상태로 주문 목록 조회
-    List<Order> findByProductIdAndStatus(Long productId, OrderStatus status);
-}
\ No newline at end of file
+    // 주문과 주문 줄을 한 번에 조회 (트랜잭션 밖에서 예약 ID 를 읽는 결제 알림 처리용)
+    @Query("select distinct o from Order o join fetch o.lines where o.id in :ids")
+    List<Order> findAllWithLinesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,17 @@
+package com.tempo.order.repository;
+
+import com.tempo.order.dto.OrderSearchCondition;
+import com.tempo.order.dto.OrderSummaryResponse;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// 주문 목록/내보내기 조회 (조건마다 WHERE 절을 따로 만들어 각 필터가 인덱스를 탈 수 있게 한다)
+public interface OrderSearchRepository {
+
+    // 조건에 맞는 주문 한 페이지 (id 내림차순, before 는 직전 페이지 마지막 주문 id)
+    List<OrderSummaryResponse> search(OrderSearchCondition condition, Long before, int limit);
+
+    // 내보내기용: 결과 전체를 힙에 올리지 않고 fetch size 단위로 커서를 따라 읽는다 (트랜잭션 안에서 소비 후 close)
+    Stream<OrderSummaryResponse> streamAll(OrderSearchCondition condition);
+}
@@ -0,0 +1,75 @@
+package com.tempo.order.repository;
+
+import com.tempo.order.domain.Order;
+import com.tempo.order.domain.OrderLine;
+import com.tempo.order.dto.OrderSearchCondition;
+import com.tempo.order.dto.OrderSummaryResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// 주어진 필터만 WHERE 에 넣는다. (:x is null or ...) 형태의 고정 쿼리는 플래너가 인덱스를 고르지 못하므로
+// 상태 필터는 (status, id), 기간 필터는 created_at, 상품 필터는 order_lines (product_id, order_id) 인덱스를 그대로 쓴다.
+@RequiredArgsConstructor
+class OrderSearchRepositoryImpl implements OrderSearchRepository {
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<OrderSummaryResponse> search(OrderSearchCondition condition, Long before, int limit) {
+        return entityManager.createQuery(query(condition, before))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<OrderSummaryResponse> streamAll(OrderSearchCondition condition) {
+        return entityManager.createQuery(query(condition, null))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<OrderSummaryResponse> query(OrderSearchCondition condition, Long before) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummaryResponse> query = cb.createQuery(OrderSummaryResponse.class);
+        Root<Order> order = query.from(Order.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (condition.getProductId() != null) {
+            Subquery<Long> line = query.subquery(Long.class);
+            Root<OrderLine> orderLine = line.from(OrderLine.class);
+            line.select(orderLine.get("id"))
+                    .where(cb.equal(orderLine.get("productId"), condition.getProductId()),
+                            cb.equal(orderLine.get("order"), order));
+            predicates.add(cb.exists(line));
+        }
+        if (condition.getStatus() != null) {
+            predicates.add(cb.equal(order.get("status"), condition.getStatus()));
+        }
+        if (condition.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("createdAt"), condition.getCreatedFrom()));
+        }
+        if (condition.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(order.get("createdAt"), condition.getCreatedTo()));
+        }
+        if (before != null) {
+            predicates.add(cb.lessThan(order.get("id"), before));
+        }
+
+        return query.select(cb.construct(OrderSummaryResponse.class,
+                        order.get("id"), order.get("lineCount"), order.get("totalQuantity"),
+                        order.get("status"), order.get("createdAt")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(order.get("id")));
+    }
+}
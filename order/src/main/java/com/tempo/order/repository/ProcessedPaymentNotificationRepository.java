@@ -0,0 +1,9 @@
+package com.tempo.order.repository;
+
+import com.tempo.order.domain.ProcessedPaymentNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProcessedPaymentNotificationRepository extends JpaRepository<ProcessedPaymentNotification, String> {
+}
@@ -0,0 +1,174 @@
+package com.tempo.order.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tempo.order.domain.OrderIdempotencyKey;
+import com.tempo.order.dto.OrderRequest;
+import com.tempo.order.dto.OrderResponse;
+import com.tempo.order.repository.OrderIdempotencyKeyRepository;
+import com.tempo.order.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// POST /api/orders 의 Idempotency-Key 처리
+// - 같은 키의 요청은 인스턴스 안에서 하나의 Mono 를 공유한다 (처리 중인 중복 요청은 같은 결과를 기다리고, 끝난 뒤의 재시도는 캐시 조회로 끝남)
+// - 메모리 캐시는 크기/TTL 제한이 있으므로, 인스턴스 간 중복과 캐시에서 밀려난 키는 order_idempotency_keys 테이블로 막는다
+// - 주문 ID 는 주문 저장과 같은 트랜잭션에서 키에 기록하므로, 주문이 있는데 키가 처리 중으로 남는 일은 없다
+// - 주문 생성에 실패하면 키를 풀어 같은 키로 다시 시도할 수 있게 한다
+// - 선점한 인스턴스가 죽어 키가 처리 중으로 남으면, claim-timeout 이 지난 뒤의 재시도가 새 토큰으로 키를 넘겨받아 주문을 만든다
+//   (늦게 끝난 이전 선점자는 토큰이 달라 주문 ID 를 기록하지 못하고 자기 주문을 롤백한다)
+@Slf4j
+@Service
+public class OrderIdempotencyService {
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final OrderIdempotencyKeyRepository keyRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Scheduler jdbcScheduler;
+    private final Cache<String, Attempt> attempts;
+    private final Duration retention;
+    private final Duration claimTimeout;
+
+    public OrderIdempotencyService(OrderIdempotencyKeyRepository keyRepository,
+                                   OrderRepository orderRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   Scheduler jdbcScheduler,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${order.idempotency.cache.max-size:10000}") long cacheMaxSize,
+                                   @Value("${order.idempotency.cache.ttl-ms:600000}") long cacheTtlMillis,
+                                   @Value("${order.idempotency.retention-hours:24}") long retentionHours,
+                                   @Value("${order.idempotency.claim-timeout-ms:60000}") long claimTimeoutMillis) {
+        this.keyRepository = keyRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcScheduler = jdbcScheduler;
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, attempts, "order-idempotency");
+        this.retention = Duration.ofHours(retentionHours);
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMillis);
+    }
+
+    // createOrder 는 주문 저장 트랜잭션 안에서 호출할 콜백을 받아 주문을 만든다 (OrderService.createOrder(request, onSaved))
+    public Mono<OrderResponse> createOrder(String key, OrderRequest request,
+                                           Function<Consumer<Long>, Mono<OrderResponse>> createOrder) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new IllegalArgumentException(
+                    "Idempotency-Key 는 1자 이상 " + MAX_KEY_LENGTH + "자 이하여야 합니다."));
+        }
+        String fingerprint = fingerprint(request);
+        Attempt attempt = attempts.get(key, k -> new Attempt(fingerprint, execute(k, fingerprint, createOrder)));
+        if (!attempt.fingerprint().equals(fingerprint)) {
+            return Mono.error(new IllegalArgumentException("같은 Idempotency-Key 로 다른 주문을 요청할 수 없습니다."));
+        }
+        return attempt.result();
+    }
+
+    // 보관 기간이 지난 키 정리
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        int deleted = keyRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("만료된 Idempotency-Key 정리 완료 - count: {}", deleted);
+        }
+    }
+
+    private Mono<OrderResponse> execute(String key, String fingerprint,
+                                        Function<Consumer<Long>, Mono<OrderResponse>> createOrder) {
+        return Mono.fromCallable(() -> claim(key, fingerprint))
+                .subscribeOn(jdbcScheduler)
+                .flatMap(claim -> claim.existing() != null
+                        ? Mono.just(claim.existing())
+                        // 이 요청이 키를 선점했으므로 주문을 만든다
+                        : createOrder.apply(orderId -> complete(key, claim.token(), orderId))
+                                .onErrorResume(e -> Mono.fromRunnable(() -> keyRepository.release(key, claim.token()))
+                                        .subscribeOn(jdbcScheduler)
+                                        .onErrorResume(releaseError -> Mono.empty())
+                                        .then(Mono.<OrderResponse>error(e))))
+                // 실패한 결과는 캐시에 남기지 않아야 같은 키로 재시도할 수 있다
+                .doOnError(e -> attempts.invalidate(key))
+                .cache();
+    }
+
+    // 주문 저장 트랜잭션 안에서 호출된다. 선점이 다른 요청에 넘어갔으면 예외로 주문 저장을 롤백시킨다.
+    private void complete(String key, String token, Long orderId) {
+        if (keyRepository.complete(key, token, orderId) == 0) {
+            log.warn("Idempotency-Key 선점 만료로 주문 롤백 - key: {}, orderId: {}", key, orderId);
+            throw new IllegalStateException("같은 Idempotency-Key 의 주문이 처리 중입니다.");
+        }
+    }
+
+    // 키를 선점(또는 제한 시간이 지난 선점을 넘겨받음)하면 토큰을, 이미 처리된 키면 그때의 주문 응답을 돌려준다
+    private Claim claim(String key, String fingerprint) {
+        String token = UUID.randomUUID().toString();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    keyRepository.saveAndFlush(new OrderIdempotencyKey(key, fingerprint, token)));
+            log.debug("Idempotency-Key 선점 - key: {}", key);
+            return Claim.claimed(token);
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> {
+                OrderIdempotencyKey existing = keyRepository.findById(key)
+                        .orElseThrow(() -> new IllegalStateException("같은 Idempotency-Key 의 주문이 처리 중입니다."));
+                if (!existing.getRequestFingerprint().equals(fingerprint)) {
+                    throw new IllegalArgumentException("같은 Idempotency-Key 로 다른 주문을 요청할 수 없습니다.");
+                }
+                if (existing.getOrderId() != null) {
+                    log.info("중복 주문 요청 - key: {}, orderId: {}", key, existing.getOrderId());
+                    return Claim.completed(orderRepository.findById(existing.getOrderId())
+                            .map(OrderResponse::new)
+                            .orElseThrow(() -> new IllegalStateException("주문을 찾을 수 없습니다: " + existing.getOrderId())));
+                }
+                // 주문 ID 는 주문과 같은 트랜잭션에서 기록되므로, 비어 있으면 이 키로 만들어진 주문도 없다
+                boolean expired = existing.getClaimedAt().isBefore(LocalDateTime.now().minus(claimTimeout));
+                if (!expired || keyRepository.takeOver(key, existing.getClaimToken(), token, LocalDateTime.now()) == 0) {
+                    throw new IllegalStateException("같은 Idempotency-Key 의 주문이 처리 중입니다.");
+                }
+                log.warn("만료된 Idempotency-Key 선점 인수 - key: {}, claimedAt: {}", key, existing.getClaimedAt());
+                return Claim.claimed(token);
+            });
+        }
+    }
+
+    // 주문 줄(상품, 수량)만으로 만든 요청 지문
+    private String fingerprint(OrderRequest request) {
+        String lines = request.orderLines().stream()
+                .map(line -> line.getProductId() + ":" + line.getQuantity())
+                .collect(Collectors.joining(","));
+        return UUID.nameUUIDFromBytes(lines.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private record Attempt(String fingerprint, Mono<OrderResponse> result) {
+    }
+
+    // token: 이 요청이 선점한 경우의 토큰, existing: 이미 처리된 키의 주문 응답
+    private record Claim(String token, OrderResponse existing) {
+        static Claim claimed(String token) {
+            return new Claim(token, null);
+        }
+
+        static Claim completed(OrderResponse existing) {
+            return new Claim(null, existing);
+        }
+    }
+}
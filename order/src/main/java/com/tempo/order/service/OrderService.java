@@ -2,91 +2,121 @@ package com.tempo.order.service;
 
 import com.tempo.order.client.ProductClient;
 import com.tempo.order.domain.Order;
-import com.tempo.order.domain.OrderHistory;
+import com.tempo.order.domain.OrderLine;
 import com.tempo.order.domain.OrderStatus;
+import com.tempo.order.dto.OrderHistoryResponse;
+import com.tempo.order.dto.OrderLineRequest;
 import com.tempo.order.dto.OrderRequest;
 import com.tempo.order.dto.OrderResponse;
+import com.tempo.order.dto.OrderSearchCondition;
 import com.tempo.order.dto.OrderStatusChangeResponse;
-import com.tempo.order.repository.OrderHistoryRepository;
+import com.tempo.order.dto.OrderSummaryResponse;
+import com.tempo.order.dto.StockReservationResponse;
+import com.tempo.order.repository.OrderEventRepository;
 import com.tempo.order.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
+    // 주문 목록/히스토리 한 페이지 크기 (limit 미지정 시 기본값, 최대값)
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final int MAX_PAGE_LIMIT = 200;
+    // 주문 한 건에 담을 수 있는 최대 줄 수 (상품 서비스 일괄 예약 한도와 같음)
+    private static final int MAX_ORDER_LINES = 200;
+
     private final OrderRepository orderRepository;
-    private final OrderHistoryRepository historyRepository;
+    private final OrderEventRepository orderEventRepository;
     private final ProductClient productClient;
+    private final TransactionTemplate transactionTemplate;
+    private final Scheduler jdbcScheduler;
 
-    @Transactional
     public Mono<OrderResponse> createOrder(OrderRequest request) {
-        log.info("주문 생성 시작 - productId: {}, quantity: {}", request.getProductId(), request.getQuantity());
+        return createOrder(request, orderId -> {
+        });
+    }
+
+    // onSaved 는 주문 저장 트랜잭션 안에서 주문 ID 와 함께 호출된다 (예외를 던지면 주문 저장이 롤백되고 예약도 풀린다)
+    public Mono<OrderResponse> createOrder(OrderRequest request, Consumer<Long> onSaved) {
+        List<OrderLineRequest> lines = request.orderLines();
+        log.info("주문 생성 시작 - lines: {}", lines.size());
 
         // 입력값 검증
-        if (request.getQuantity() <= 0) {
-            log.error("잘못된 주문 수량 - quantity: {}", request.getQuantity());
-            return Mono.error(new IllegalArgumentException("주문 수량은 0보다 커야 합니다."));
+        if (lines.isEmpty() || lines.size() > MAX_ORDER_LINES) {
+            log.error("잘못된 주문 줄 수 - lines: {}", lines.size());
+            return Mono.error(new IllegalArgumentException("주문 줄은 1개 이상 " + MAX_ORDER_LINES + "개 이하여야 합니다."));
+        }
+        for (OrderLineRequest line : lines) {
+            if (line.getProductId() == null || line.getQuantity() == null || line.getQuantity() <= 0) {
+                log.error("잘못된 주문 수량 - productId: {}, quantity: {}", line.getProductId(), line.getQuantity());
+                return Mono.error(new IllegalArgumentException("주문 수량은 0보다 커야 합니다."));
+            }
         }
 
-        return productClient.getProduct(request.getProductId())
-                .doOnNext(product -> log.info("상품 정보 조회 완료 - productId: {}, stock: {}",
-                        product.getId(), product.getStock()))
-                .flatMap(product -> {
-                    // 재고 확인
-                    if (product.getStock() < request.getQuantity()) {
-                        log.error("재고 부족 - productId: {}, requested: {}, available: {}",
-                                product.getId(), request.getQuantity(), product.getStock());
-                        return Mono.error(new IllegalStateException(
-                                String.format("재고가 부족합니다. (요청: %d, 재고: %d)",
-                                        request.getQuantity(), product.getStock())
-                        ));
-                    }
-
-                    try {
-                        // 주문 엔티티 생성
-                        Order order = Order.builder()
-                                .productId(request.getProductId())
-                                .quantity(request.getQuantity())
-                                .build();
-
-                        // 주문 저장
-                        Order savedOrder = orderRepository.save(order);
-                        log.info("주문 엔티티 저장 완료 - orderId: {}", savedOrder.getId());
-
-                        // 주문 히스토리 생성 및 저장
-                        OrderHistory history = OrderHistory.builder()
-                                .order(savedOrder)
-                                .previousStatus(null)
-                                .newStatus(OrderStatus.CREATED)
-                                .message("주문이 생성되었습니다.")
-                                .build();
-                        historyRepository.save(history);
-                        log.info("주문 히스토리 저장 완료 - orderId: {}", savedOrder.getId());
-
-                        // 재고 업데이트 및 응답 반환
-                        return productClient.updateStock(request.getProductId(), request.getQuantity())
-                                .doOnSuccess(v -> log.info("재고 업데이트 완료 - productId: {}, orderId: {}",
-                                        request.getProductId(), savedOrder.getId()))
-                                .doOnError(e -> log.error("재고 업데이트 실패 - productId: {}, orderId: {}",
-                                        request.getProductId(), savedOrder.getId(), e))
-                                .thenReturn(new OrderResponse(savedOrder));
-                    } catch (Exception e) {
-                        log.error("주문 생성 중 에러 발생", e);
-                        return Mono.error(e);
-                    }
-                })
+        // 상품 서비스에서 모든 줄의 재고 확인과 차감을 한 번에 처리 (줄 수와 무관하게 원격 호출 1회, 전부 성공 또는 전부 실패)
+        return productClient.reserveStocks(lines)
+                // 블로킹 JPA 저장은 이벤트 루프가 아닌 JDBC 전용 스케줄러에서 명시적 트랜잭션으로 실행
+                .flatMap(reservations -> Mono.fromCallable(() -> saveNewOrder(lines, reservations, onSaved))
+                        .subscribeOn(jdbcScheduler)
+                        .onErrorResume(e -> {
+                            // 주문 저장에 실패하면 예약한 재고를 바로 돌려준다 (실패해도 예약 만료 시 복구됨)
+                            List<String> reservationIds = reservations.stream()
+                                    .map(StockReservationResponse::getReservationId)
+                                    .collect(Collectors.toList());
+                            log.error("주문 생성 중 에러 발생 - reservationIds: {}", reservationIds, e);
+                            return productClient.releaseReservations(reservationIds)
+                                    .onErrorResume(releaseError -> Mono.empty())
+                                    .then(Mono.<OrderResponse>error(e));
+                        }))
                 .doOnSuccess(response -> log.info("주문 생성 완료 - orderId: {}", response.getId()))
                 .doOnError(e -> log.error("주문 생성 실패", e));
     }
 
+    // 예약 응답은 요청한 줄 순서대로 온다
+    private OrderResponse saveNewOrder(List<OrderLineRequest> lines, List<StockReservationResponse> reservations,
+                                       Consumer<Long> onSaved) {
+        if (reservations.size() != lines.size()) {
+            throw new IllegalStateException("재고 예약 결과가 주문 줄과 맞지 않습니다.");
+        }
+        return transactionTemplate.execute(status -> {
+            // 주문 엔티티 생성
+            List<OrderLine> orderLines = new ArrayList<>();
+            for (int i = 0; i < lines.size(); i++) {
+                orderLines.add(OrderLine.builder()
+                        .productId(lines.get(i).getProductId())
+                        .quantity(lines.get(i).getQuantity())
+                        .reservationId(reservations.get(i).getReservationId())
+                        .build());
+            }
+
+            // 주문 저장 (줄은 cascade 로 함께 저장되며 JDBC 배치로 전송)
+            Order savedOrder = orderRepository.save(Order.builder().lines(orderLines).build());
+            log.info("주문 엔티티 저장 완료 - orderId: {}, lines: {}", savedOrder.getId(), orderLines.size());
+
+            // 주문 생성 이벤트 저장
+            orderEventRepository.save(savedOrder.createdEvent("주문이 생성되었습니다."));
+            log.info("주문 생성 이벤트 저장 완료 - orderId: {}", savedOrder.getId());
+
+            OrderResponse response = new OrderResponse(savedOrder);
+            onSaved.accept(savedOrder.getId());
+            return response;
+        });
+    }
+
     @Transactional
     public OrderResponse updateOrderStatus(Long orderId, OrderStatus newStatus) {
         log.info("주문 상태 업데이트 시작 - orderId: {}, newStatus: {}", orderId, newStatus);
@@ -94,7 +124,7 @@ public class OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다."));
 
-        order.updateStatus(newStatus);
+        orderEventRepository.save(order.updateStatus(newStatus, "주문 상태가 변경되었습니다."));
         log.info("주문 상태 업데이트 완료 - orderId: {}, status: {}", orderId, newStatus);
 
         return new OrderResponse(order);
@@ -102,33 +132,91 @@ public class OrderService {
 
     @Transactional(readOnly = true)
     public List<OrderStatusChangeResponse> getOrderStatusChanges(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다."));
+        if (!orderRepository.existsById(orderId)) {
+            throw new IllegalArgumentException("주문을 찾을 수 없습니다.");
+        }
 
-        return order.getStatusChanges().stream()
+        return orderEventRepository.findByOrderIdOrderByIdDesc(orderId).stream()
                 .map(OrderStatusChangeResponse::new)
                 .collect(Collectors.toList());
     }
 
-    public List<OrderHistory> getOrderHistory(Long orderId) {
-        return historyRepository.findByIdOrderByCreatedAtDesc(orderId)
-                .stream()
-                .map(history -> {
-                    // 명시적으로 Order 정보 로딩
-                    history.getOrder().getId();  // 지연 로딩 강제 초기화
-                    return history;
+    // 최신 이벤트부터 limit 건, before 를 주면 그 이벤트 id 이전(더 오래된) 것부터 조회
+    @Transactional(readOnly = true)
+    public List<OrderHistoryResponse> getOrderHistory(Long orderId, Long before, Integer limit) {
+        PageRequest page = PageRequest.ofSize(pageSize(limit));
+        if (!orderRepository.existsById(orderId)) {
+            throw new IllegalArgumentException("주문을 찾을 수 없습니다.");
+        }
+
+        return before == null
+                ? orderEventRepository.findHistory(orderId, page)
+                : orderEventRepository.findHistoryBefore(orderId, before, page);
+    }
+
+    // 조건에 맞는 주문을 최신순으로 limit 건, before 를 주면 그 주문 id 이전 것부터 조회
+    @Transactional(readOnly = true)
+    public List<OrderSummaryResponse> searchOrders(OrderSearchCondition condition, Long before, Integer limit) {
+        return orderRepository.search(condition, before, pageSize(limit));
+    }
+
+    // 조건에 맞는 주문 전체를 한 건씩 consumer 로 넘긴다 (DB 커서를 따라 읽으므로 결과 크기와 무관하게 메모리 사용이 일정)
+    @Transactional(readOnly = true)
+    public long exportOrders(OrderSearchCondition condition, Consumer<OrderSummaryResponse> consumer) {
+        log.info("주문 내보내기 시작 - productId: {}, status: {}", condition.getProductId(), condition.getStatus());
+        long count = 0;
+        try (Stream<OrderSummaryResponse> orders = orderRepository.streamAll(condition)) {
+            for (OrderSummaryResponse order : (Iterable<OrderSummaryResponse>) orders::iterator) {
+                consumer.accept(order);
+                count++;
+            }
+        }
+        log.info("주문 내보내기 완료 - count: {}", count);
+        return count;
+    }
+
+    private int pageSize(Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_LIMIT : limit;
+        if (pageSize <= 0 || pageSize > MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException("limit 은 1 이상 " + MAX_PAGE_LIMIT + " 이하여야 합니다.");
+        }
+        return pageSize;
+    }
+
+    // 예약 확정은 원격 호출이므로 트랜잭션 밖에서 먼저 하고, 상태 변경만 JDBC 전용 스케줄러에서 명시적 트랜잭션으로 실행한다
+    // (createOrder 와 같이 원격 왕복 동안 커넥션을 잡지 않는다). 확정 전에 상태를 바꾸면 예약 만료로 재고가 복구될 수 있다.
+    public Mono<OrderResponse> completePayment(Long orderId) {
+        log.info("결제 완료 처리 시작 - orderId: {}", orderId);
+        return Mono.fromCallable(() -> findOrderWithLines(orderId))
+                .subscribeOn(jdbcScheduler)
+                .flatMap(order -> {
+                    if (!order.getStatus().canTransitionTo(OrderStatus.PAYMENT_COMPLETED)) {
+                        return Mono.error(new IllegalStateException(
+                                "주문 상태를 " + order.getStatus() + " 에서 " + OrderStatus.PAYMENT_COMPLETED + " 로 바꿀 수 없습니다."));
+                    }
+                    List<String> reservationIds = order.getReservationIds();
+                    Mono<Void> confirm = reservationIds.isEmpty()
+                            ? Mono.empty()
+                            : productClient.confirmReservations(reservationIds);
+                    return confirm.then(Mono.fromCallable(() -> saveCompletedPayment(orderId))
+                            .subscribeOn(jdbcScheduler));
                 })
-                .collect(Collectors.toList());
+                .doOnSuccess(response -> log.info("결제 완료 처리 완료 - orderId: {}", orderId))
+                .doOnError(e -> log.error("결제 완료 처리 실패 - orderId: {}, error: {}", orderId, e.getMessage()));
     }
 
-    @Transactional
-    public OrderResponse completePayment(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+    private Order findOrderWithLines(Long orderId) {
+        return orderRepository.findAllWithLinesByIdIn(List.of(orderId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다: " + orderId));
+    }
 
-        order.updateStatus(OrderStatus.PAYMENT_COMPLETED);
-        Order savedOrder = orderRepository.save(order);
-
-        return new OrderResponse(savedOrder);
+    private OrderResponse saveCompletedPayment(Long orderId) {
+        return transactionTemplate.execute(status -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다: " + orderId));
+            orderEventRepository.save(order.updateStatus(OrderStatus.PAYMENT_COMPLETED, "결제가 완료되었습니다."));
+            return new OrderResponse(order);
+        });
     }
 }
\ No newline at end of file
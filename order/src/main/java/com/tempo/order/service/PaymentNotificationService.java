@@ -0,0 +1,213 @@
+package com.tempo.order.service;
+
+import com.tempo.order.client.ProductClient;
+import com.tempo.order.domain.Order;
+import com.tempo.order.domain.OrderEvent;
+import com.tempo.order.domain.PaymentNotificationType;
+import com.tempo.order.domain.ProcessedPaymentNotification;
+import com.tempo.order.dto.PaymentNotificationRequest;
+import com.tempo.order.dto.PaymentNotificationResult;
+import com.tempo.order.repository.OrderEventRepository;
+import com.tempo.order.repository.OrderRepository;
+import com.tempo.order.repository.ProcessedPaymentNotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 결제 서비스 outbox 릴레이가 보내는 결제 알림을 일괄 반영한다.
+// 같은 알림이 여러 번 와도 idempotencyKey 로 한 번만 반영하고, 항목별 결과를 돌려준다.
+// 주문 상태로 옮겨갈 수 없는 알림은 IGNORED 로 돌려주므로 순서가 뒤바뀌어 와도 취소된 주문이 되살아나지 않는다.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentNotificationService {
+    private static final int RESERVATION_CALL_CONCURRENCY = 8;
+
+    private final OrderRepository orderRepository;
+    private final OrderEventRepository orderEventRepository;
+    private final ProcessedPaymentNotificationRepository processedRepository;
+    private final ProductClient productClient;
+    private final TransactionTemplate transactionTemplate;
+
+    public List<PaymentNotificationResult> applyNotifications(List<PaymentNotificationRequest> notifications) {
+        log.info("결제 알림 일괄 처리 시작 - count: {}", notifications.size());
+        validate(notifications);
+
+        // 1. 이미 반영된 알림과 대상 주문을 한 번에 조회
+        Set<String> keys = notifications.stream()
+                .map(PaymentNotificationRequest::getIdempotencyKey)
+                .collect(Collectors.toSet());
+        Set<String> processedKeys = processedRepository.findAllById(keys).stream()
+                .map(ProcessedPaymentNotification::getIdempotencyKey)
+                .collect(Collectors.toSet());
+        // 예약 ID 는 주문 줄에 있으므로 줄까지 함께 조회한다 (이후 트랜잭션 밖에서 읽음)
+        Map<Long, Order> orders = orderRepository.findAllWithLinesByIdIn(notifications.stream()
+                        .map(PaymentNotificationRequest::getOrderId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        Map<String, PaymentNotificationResult> results = new HashMap<>();
+        Map<String, PaymentNotificationRequest> pending = new LinkedHashMap<>();
+        Set<Long> pendingOrderIds = new HashSet<>();
+        for (PaymentNotificationRequest notification : notifications) {
+            String key = notification.getIdempotencyKey();
+            if (results.containsKey(key) || pending.containsKey(key)) {
+                continue;
+            }
+            Order order = orders.get(notification.getOrderId());
+            if (processedKeys.contains(key)) {
+                results.put(key, PaymentNotificationResult.duplicate(key));
+            } else if (order == null) {
+                results.put(key, PaymentNotificationResult.rejected(key,
+                        "주문을 찾을 수 없습니다: " + notification.getOrderId()));
+            } else if (!pendingOrderIds.add(notification.getOrderId())) {
+                // 같은 주문의 알림은 한 요청에서 하나만 반영한다 (뒤의 것은 앞의 것이 반영된 뒤 재시도)
+                results.put(key, PaymentNotificationResult.rejected(key, "같은 주문의 이전 알림을 먼저 반영해야 합니다."));
+            } else if (!order.getStatus().canTransitionTo(notification.getType().targetStatus())) {
+                // 이미 취소된 주문의 결제 완료처럼 늦게 온 알림은 반영하지 않는다 (재시도해도 결과가 같음)
+                pendingOrderIds.remove(notification.getOrderId());
+                results.put(key, ignored(notification, order));
+            } else {
+                pending.put(key, notification);
+            }
+        }
+
+        // 2. 상태를 바꾸기 전에 재고 예약을 먼저 처리하고, 실패한 알림은 반영하지 않고 재시도 대상으로 돌려준다.
+        // - 결제 완료: 예약 확정 (확정 전에 상태를 바꾸면 예약 만료로 재고가 복구될 수 있음)
+        // - 결제 취소: 예약 취소 (확정된 예약도 재고를 복구한다, 이미 되돌린 예약은 건너뛰므로 재시도해도 안전)
+        Map<String, String> reservationFailures = Flux.fromIterable(pending.values())
+                .filter(notification -> notification.getType() != PaymentNotificationType.FAILED)
+                .filter(notification -> !orders.get(notification.getOrderId()).getReservationIds().isEmpty())
+                .flatMap(notification -> reservationCall(notification, orders.get(notification.getOrderId()))
+                        .then(Mono.<Map.Entry<String, String>>empty())
+                        .onErrorResume(e -> Mono.just(Map.entry(notification.getIdempotencyKey(),
+                                String.valueOf(e.getMessage())))), RESERVATION_CALL_CONCURRENCY)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block(); // 동기적 처리를 위해 block 사용
+        reservationFailures.forEach((key, message) -> {
+            pending.remove(key);
+            results.put(key, PaymentNotificationResult.rejected(key, "재고 예약 처리 실패: " + message));
+        });
+
+        // 3. 주문 상태 변경과 처리 기록을 하나의 트랜잭션으로 저장
+        // 조회 이후 다른 요청이 상태를 바꿨거나(Order @Version) 같은 알림을 먼저 기록했으면 일괄 저장이 실패한다.
+        // 그때는 알림마다 따로 다시 저장해, 충돌한 알림만 DUPLICATE/REJECTED 로 돌려준다.
+        if (!pending.isEmpty()) {
+            Map<String, PaymentNotificationResult> saved;
+            try {
+                saved = transactionTemplate.execute(status -> saveStatusChanges(pending.values()));
+            } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+                log.warn("결제 알림 일괄 반영 충돌, 알림별로 다시 반영 - count: {}, error: {}", pending.size(), e.getMessage());
+                saved = new HashMap<>();
+                for (PaymentNotificationRequest notification : pending.values()) {
+                    saved.put(notification.getIdempotencyKey(), saveStatusChange(notification));
+                }
+            }
+            saved.forEach((key, result) -> {
+                results.put(key, result);
+                if (result.getResult() != PaymentNotificationResult.Result.APPLIED) {
+                    pending.remove(key);
+                }
+            });
+        }
+
+        // 4. 결제 실패 주문의 재고 예약 해제 (실패해도 예약 만료 처리로 복구되므로 결과에 반영하지 않음)
+        Flux.fromIterable(pending.values())
+                .filter(notification -> notification.getType() == PaymentNotificationType.FAILED)
+                .map(PaymentNotificationRequest::getOrderId)
+                .distinct()
+                .map(orderId -> orders.get(orderId).getReservationIds())
+                .filter(reservationIds -> !reservationIds.isEmpty())
+                .flatMap(reservationIds -> productClient.releaseReservations(reservationIds)
+                        .onErrorResume(e -> Mono.empty()), RESERVATION_CALL_CONCURRENCY)
+                .blockLast();
+
+        log.info("결제 알림 일괄 처리 완료 - count: {}, applied: {}", notifications.size(), pending.size());
+        return notifications.stream()
+                .map(notification -> results.get(notification.getIdempotencyKey()))
+                .collect(Collectors.toList());
+    }
+
+    private Mono<Void> reservationCall(PaymentNotificationRequest notification, Order order) {
+        return notification.getType() == PaymentNotificationType.COMPLETED
+                ? productClient.confirmReservations(order.getReservationIds())
+                : productClient.cancelReservations(order.getReservationIds());
+    }
+
+    // 호출한 트랜잭션 안에서 상태 변경 이벤트와 처리 기록을 저장한다 (flush 해서 충돌을 여기서 드러낸다)
+    private Map<String, PaymentNotificationResult> saveStatusChanges(Collection<PaymentNotificationRequest> notifications) {
+        Map<Long, Order> managedOrders = findOrders(notifications.stream()
+                .map(PaymentNotificationRequest::getOrderId)
+                .collect(Collectors.toSet()));
+        Map<String, PaymentNotificationResult> saved = new HashMap<>();
+        List<ProcessedPaymentNotification> processed = new ArrayList<>();
+        List<OrderEvent> events = new ArrayList<>();
+        for (PaymentNotificationRequest notification : notifications) {
+            String key = notification.getIdempotencyKey();
+            Order order = managedOrders.get(notification.getOrderId());
+            if (!order.getStatus().canTransitionTo(notification.getType().targetStatus())) {
+                saved.put(key, ignored(notification, order));
+                continue;
+            }
+            events.add(order.updateStatus(
+                    notification.getType().targetStatus(), "결제 알림 반영: " + notification.getType()));
+            processed.add(new ProcessedPaymentNotification(key, notification.getOrderId(), notification.getType()));
+            saved.put(key, PaymentNotificationResult.applied(key));
+        }
+        orderEventRepository.saveAll(events);
+        processedRepository.saveAllAndFlush(processed);
+        return saved;
+    }
+
+    // 일괄 저장이 충돌했을 때 알림 하나를 자기 트랜잭션으로 저장한다
+    private PaymentNotificationResult saveStatusChange(PaymentNotificationRequest notification) {
+        String key = notification.getIdempotencyKey();
+        try {
+            return transactionTemplate.execute(status -> processedRepository.existsById(key)
+                    ? PaymentNotificationResult.duplicate(key)
+                    : saveStatusChanges(List.of(notification)).get(key));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 같은 알림을 동시에 기록했다
+            return PaymentNotificationResult.duplicate(key);
+        } catch (OptimisticLockingFailureException e) {
+            return PaymentNotificationResult.rejected(key, "주문 상태가 동시에 변경되었습니다.");
+        }
+    }
+
+    private PaymentNotificationResult ignored(PaymentNotificationRequest notification, Order order) {
+        log.warn("반영할 수 없는 결제 알림 - orderId: {}, status: {}, type: {}",
+                order.getId(), order.getStatus(), notification.getType());
+        return PaymentNotificationResult.ignored(notification.getIdempotencyKey(),
+                "주문 상태 " + order.getStatus() + " 에는 " + notification.getType() + " 알림을 반영할 수 없습니다.");
+    }
+
+    private Map<Long, Order> findOrders(Set<Long> orderIds) {
+        return orderRepository.findAllById(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+    }
+
+    private void validate(List<PaymentNotificationRequest> notifications) {
+        for (PaymentNotificationRequest notification : notifications) {
+            if (notification.getIdempotencyKey() == null || notification.getOrderId() == null
+                    || notification.getType() == null) {
+                throw new IllegalArgumentException("idempotencyKey, orderId, type 은 필수입니다.");
+            }
+        }
+    }
+}
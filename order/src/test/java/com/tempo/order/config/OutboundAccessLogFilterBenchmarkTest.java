@@ -0,0 +1,64 @@
+package com.tempo.order.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 외부 호출 한 건당 access log 필터가 더하는 CPU 시간과 할당량 측정 (JMH 대신 워밍업 후 반복 측정)
+// 네트워크 없이 즉시 응답하는 ExchangeFunction 으로 필터를 거칠 때와 거치지 않을 때를 비교한다
+@Slf4j
+class OutboundAccessLogFilterBenchmarkTest {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    private final ClientResponse response = ClientResponse.create(HttpStatus.OK).build();
+    private final ExchangeFunction exchange = request -> Mono.just(response);
+    private final ClientRequest request = ClientRequest
+            .create(HttpMethod.GET, URI.create("http://product-service/api/products/1"))
+            .attribute(WebClient.class.getName() + ".uriTemplate", "/api/products/{id}")
+            .build();
+
+    @Test
+    void compareWithAndWithoutFilter() {
+        Cost baseline = measure("필터 없음", exchange);
+        Cost sampled = measure("필터(sample-rate=100)", exchange.filter(new OutboundAccessLogFilter(100)));
+        Cost aggregatedOnly = measure("필터(샘플링 끔)", exchange.filter(new OutboundAccessLogFilter(0)));
+
+        // 집계만 하는 경로는 요청마다 로그 메시지를 만들지 않으므로 추가 할당이 작아야 한다
+        assertThat(aggregatedOnly.bytesPerOp() - baseline.bytesPerOp()).isLessThan(512);
+        assertThat(sampled.bytesPerOp() - baseline.bytesPerOp()).isLessThan(1024);
+    }
+
+    private Cost measure(String name, ExchangeFunction function) {
+        for (int i = 0; i < WARMUP; i++) {
+            function.exchange(request).block();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            function.exchange(request).block();
+        }
+        long bytesPerOp = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / ITERATIONS;
+        long cpuNanosPerOp = (threads.getCurrentThreadCpuTime() - cpuBefore) / ITERATIONS;
+
+        log.info("외부 호출 로그 비용 - case: {}, cpu(ns/op): {}, alloc(bytes/op): {}", name, cpuNanosPerOp, bytesPerOp);
+        return new Cost(cpuNanosPerOp, bytesPerOp);
+    }
+
+    private record Cost(long cpuNanosPerOp, long bytesPerOp) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.tempo.order.service;
+
+import com.tempo.order.client.ProductClient;
+import com.tempo.order.dto.OrderLineRequest;
+import com.tempo.order.dto.OrderRequest;
+import com.tempo.order.dto.OrderResponse;
+import com.tempo.order.dto.StockReservationResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 주문 줄 수가 늘어도 상품 서비스 호출은 1회, 실행되는 SQL 문 수는 거의 같아야 한다 (줄 INSERT 는 JDBC 배치).
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class OrderCheckoutBenchmarkTest {
+
+    private static final int LARGE_CART = 40;
+
+    @MockitoBean
+    private ProductClient productClient;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void checkoutCostIsFlatInNumberOfLines() {
+        List<StockReservationResponse> reservations = IntStream.range(0, LARGE_CART)
+                .mapToObj(i -> reservation("reservation-" + i))
+                .toList();
+        given(productClient.reserveStocks(anyList())).willAnswer(invocation -> {
+            List<OrderLineRequest> lines = invocation.getArgument(0);
+            return Mono.just(reservations.subList(0, lines.size()));
+        });
+        // 시퀀스 초기 할당이 측정에 섞이지 않도록 한 번 미리 주문한다
+        checkout(1);
+
+        long single = statementsFor(1);
+        long large = statementsFor(LARGE_CART);
+        System.out.printf("주문 1건당 SQL 준비 횟수 - 1줄: %d, %d줄: %d%n", single, LARGE_CART, large);
+
+        // 시퀀스 할당(50개마다 1회)이 걸리면 1건 정도 차이가 날 수 있다
+        assertThat(large).isLessThanOrEqualTo(single + 1);
+    }
+
+    private long statementsFor(int lineCount) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        clearInvocations(productClient);
+
+        OrderResponse response = checkout(lineCount);
+
+        assertThat(response.getLines()).hasSize(lineCount);
+        verify(productClient, times(1)).reserveStocks(anyList());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private OrderResponse checkout(int lineCount) {
+        List<OrderLineRequest> lines = IntStream.rangeClosed(1, lineCount)
+                .mapToObj(i -> OrderLineRequest.builder().productId((long) i).quantity(1).build())
+                .toList();
+        return orderService.createOrder(OrderRequest.builder().lines(lines).build()).block();
+    }
+
+    private StockReservationResponse reservation(String reservationId) {
+        StockReservationResponse reservation = mock(StockReservationResponse.class);
+        given(reservation.getReservationId()).willReturn(reservationId);
+        return reservation;
+    }
+}
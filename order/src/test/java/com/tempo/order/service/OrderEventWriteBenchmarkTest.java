@@ -0,0 +1,107 @@
+package com.tempo.order.service;
+
+import com.tempo.order.client.ProductClient;
+import com.tempo.order.domain.Order;
+import com.tempo.order.domain.OrderLine;
+import com.tempo.order.domain.OrderStatus;
+import com.tempo.order.dto.OrderHistoryResponse;
+import com.tempo.order.repository.OrderEventRepository;
+import com.tempo.order.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 상태 변경 1건당 실행되는 SQL 수가 주문의 이력 길이와 무관한지 확인한다.
+// 이전 구조(@ElementCollection)는 변경마다 컬렉션 전체를 지우고 다시 INSERT 해 이력 길이에 비례했다.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class OrderEventWriteBenchmarkTest {
+
+    private static final int LONG_HISTORY = 200;
+
+    @MockitoBean
+    private ProductClient productClient;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void statementsPerStatusChangeDoNotGrowWithHistory() {
+        Long shortOrderId = newOrder();
+        Long longOrderId = newOrder();
+        appendHistory(longOrderId, LONG_HISTORY);
+
+        long shortHistory = statementsFor(shortOrderId);
+        long longHistory = statementsFor(longOrderId);
+        System.out.printf("상태 변경 1건당 SQL - 이력 1건: %d, 이력 %d건: %d%n", shortHistory, LONG_HISTORY + 1, longHistory);
+
+        // 시퀀스 할당(50건마다 1회)이 어느 쪽에 걸리느냐에 따라 1건 차이는 날 수 있다.
+        assertThat(longHistory).isBetween(shortHistory - 1, shortHistory + 1);
+        assertThat(orderService.getOrderHistory(longOrderId, null, 200)).hasSize(200);
+    }
+
+    @Test
+    void historyPagesFollowKeysetCursor() {
+        Long orderId = newOrder();
+        appendHistory(orderId, 5);
+
+        List<OrderHistoryResponse> first = orderService.getOrderHistory(orderId, null, 3);
+        List<OrderHistoryResponse> second = orderService.getOrderHistory(orderId, first.get(2).getId(), 3);
+
+        assertThat(first).extracting(OrderHistoryResponse::getOrderId).containsOnly(orderId);
+        assertThat(first).extracting(OrderHistoryResponse::getId).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(second).hasSize(2)
+                .allMatch(history -> history.getId() < first.get(2).getId());
+    }
+
+    @Test
+    void historyOfUnknownOrderIsRejected() {
+        assertThatThrownBy(() -> orderService.getOrderHistory(Long.MAX_VALUE, null, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("주문을 찾을 수 없습니다.");
+    }
+
+    private Long newOrder() {
+        Order order = orderRepository.save(Order.builder()
+                .lines(List.of(OrderLine.builder().productId(1L).quantity(1).build()))
+                .build());
+        return order.getId();
+    }
+
+    // 상태 전이표로는 같은 주문의 이력을 길게 쌓을 수 없으므로 이벤트 행을 직접 추가한다
+    private void appendHistory(Long orderId, int count) {
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        orderEventRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> order.createdEvent("이력 " + i))
+                .toList());
+    }
+
+    private long statementsFor(Long orderId) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        orderService.updateOrderStatus(orderId, OrderStatus.CANCELLED);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,176 @@
+package com.tempo.order.service;
+
+import com.tempo.order.client.ProductClient;
+import com.tempo.order.dto.OrderRequest;
+import com.tempo.order.dto.OrderResponse;
+import com.tempo.order.dto.StockReservationResponse;
+import com.tempo.order.repository.OrderIdempotencyKeyRepository;
+import com.tempo.order.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.core.publisher.Flux;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderIdempotencyServiceTest {
+
+    private static final int DUPLICATES = 50;
+
+    @MockitoBean
+    private ProductClient productClient;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderIdempotencyService idempotencyService;
+
+    @Autowired
+    private OrderIdempotencyKeyRepository keyRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Scheduler jdbcScheduler;
+
+    @Test
+    void concurrentAndRepeatedRequestsWithSameKeyCreateOneOrder() {
+        StockReservationResponse reservation = mock(StockReservationResponse.class);
+        given(reservation.getReservationId()).willReturn("reservation-idempotent");
+        // 예약 응답을 늦춰 중복 요청들이 처리 중인 요청과 겹치게 한다
+        given(productClient.reserveStocks(anyList()))
+                .willAnswer(invocation -> Mono.just(List.of(reservation))
+                        .delayElement(Duration.ofMillis(200), Schedulers.parallel()));
+        OrderRequest request = OrderRequest.builder().productId(1L).quantity(2).build();
+
+        List<OrderResponse> responses = Flux.range(0, DUPLICATES)
+                .flatMap(i -> idempotencyService.createOrder("checkout-1", request,
+                        create(request)), DUPLICATES)
+                .collectList()
+                .block();
+        OrderResponse retried = idempotencyService.createOrder("checkout-1", request, create(request)).block();
+
+        assertThat(responses).hasSize(DUPLICATES)
+                .extracting(OrderResponse::getId)
+                .containsOnly(retried.getId());
+        verify(productClient, times(1)).reserveStocks(anyList());
+
+        // 같은 키로 다른 내용을 보내면 거절
+        OrderRequest different = OrderRequest.builder().productId(1L).quantity(3).build();
+        idempotencyService.createOrder("checkout-1", different, create(different))
+                .as(StepVerifier::create)
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    // 다른 인스턴스(또는 메모리 캐시에서 밀려난 키)의 중복 요청은 테이블에 기록된 주문으로 답한다
+    @Test
+    void duplicateWithoutCachedAttemptIsAnsweredFromTable() {
+        givenReservation();
+        OrderRequest request = OrderRequest.builder().productId(1L).quantity(2).build();
+
+        OrderResponse first = idempotencyService.createOrder("checkout-db", request, create(request)).block();
+        OrderResponse duplicate = otherInstance(60_000).createOrder("checkout-db", request, create(request)).block();
+
+        assertThat(duplicate.getId()).isEqualTo(first.getId());
+        verify(productClient, times(1)).reserveStocks(anyList());
+
+        OrderRequest different = OrderRequest.builder().productId(1L).quantity(3).build();
+        otherInstance(60_000).createOrder("checkout-db", different, create(different))
+                .as(StepVerifier::create)
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    // 선점한 요청이 끝나지 않으면 제한 시간 안에는 409, 지난 뒤에는 재시도가 키를 넘겨받아 주문을 만든다
+    @Test
+    void stalledClaimIsTakenOverAfterTimeout() throws InterruptedException {
+        givenReservation();
+        OrderRequest request = OrderRequest.builder().productId(1L).quantity(1).build();
+        // 주문 생성 도중 멈춘 인스턴스
+        idempotencyService.createOrder("checkout-stalled", request, onSaved -> Mono.never()).subscribe();
+        awaitClaim("checkout-stalled");
+
+        otherInstance(60_000).createOrder("checkout-stalled", request, create(request))
+                .as(StepVerifier::create)
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        OrderResponse takenOver = otherInstance(0).createOrder("checkout-stalled", request, create(request)).block();
+
+        assertThat(keyRepository.findById("checkout-stalled").orElseThrow().getOrderId()).isEqualTo(takenOver.getId());
+    }
+
+    // 넘겨받은 뒤에 늦게 끝난 이전 선점자는 주문 ID 를 기록하지 못하고 자기 주문과 예약을 되돌린다
+    @Test
+    void lateClaimantRollsBackAfterTakeOver() throws InterruptedException {
+        givenReservation();
+        given(productClient.releaseReservations(anyList())).willReturn(Mono.empty());
+        OrderRequest request = OrderRequest.builder().productId(1L).quantity(1).build();
+        long ordersBefore = orderRepository.count();
+
+        Mono<OrderResponse> late = idempotencyService.createOrder("checkout-late", request,
+                onSaved -> Mono.delay(Duration.ofMillis(500))
+                        .then(Mono.defer(() -> orderService.createOrder(request, onSaved))));
+        late.subscribe(response -> { }, error -> { });
+        awaitClaim("checkout-late");
+
+        OrderResponse takenOver = otherInstance(0).createOrder("checkout-late", request, create(request)).block();
+
+        late.as(StepVerifier::create)
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+        assertThat(keyRepository.findById("checkout-late").orElseThrow().getOrderId()).isEqualTo(takenOver.getId());
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+        verify(productClient, times(2)).reserveStocks(anyList());
+        verify(productClient, times(1)).releaseReservations(anyList());
+    }
+
+    private Function<Consumer<Long>, Mono<OrderResponse>> create(OrderRequest request) {
+        return onSaved -> orderService.createOrder(request, onSaved);
+    }
+
+    private void givenReservation() {
+        StockReservationResponse reservation = mock(StockReservationResponse.class);
+        given(reservation.getReservationId()).willReturn("reservation-idempotent");
+        given(productClient.reserveStocks(anyList())).willReturn(Mono.just(List.of(reservation)));
+    }
+
+    // 메모리 캐시를 공유하지 않는 다른 인스턴스
+    private OrderIdempotencyService otherInstance(long claimTimeoutMillis) {
+        return new OrderIdempotencyService(keyRepository, orderRepository, transactionTemplate, jdbcScheduler,
+                new SimpleMeterRegistry(), 10_000, 600_000, 24, claimTimeoutMillis);
+    }
+
+    private void awaitClaim(String key) throws InterruptedException {
+        for (int i = 0; i < 50 && !keyRepository.existsById(key); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(keyRepository.existsById(key)).isTrue();
+    }
+}
@@ -0,0 +1,102 @@
+package com.tempo.order.service;
+
+import com.tempo.order.client.ProductClient;
+import com.tempo.order.domain.Order;
+import com.tempo.order.domain.OrderLine;
+import com.tempo.order.domain.OrderStatus;
+import com.tempo.order.dto.OrderSearchCondition;
+import com.tempo.order.dto.OrderSummaryResponse;
+import com.tempo.order.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderSearchTest {
+
+    // 다른 테스트가 만든 주문과 섞이지 않도록 이 테스트 전용 상품 ID 를 쓴다
+    private static final long PRODUCT_ID = 9_001L;
+
+    @MockitoBean
+    private ProductClient productClient;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void searchFiltersAndPagesWithKeysetCursor() {
+        for (int i = 0; i < 7; i++) {
+            Order order = orderRepository.save(Order.builder()
+                .lines(List.of(OrderLine.builder().productId(PRODUCT_ID).quantity(1).build()))
+                .build());
+            if (i % 2 == 0) {
+                orderService.updateOrderStatus(order.getId(), OrderStatus.PAYMENT_PENDING);
+            }
+        }
+        OrderSearchCondition pending = OrderSearchCondition.builder()
+                .productId(PRODUCT_ID)
+                .status(OrderStatus.PAYMENT_PENDING)
+                .build();
+
+        List<OrderSummaryResponse> first = orderService.searchOrders(pending, null, 3);
+        List<OrderSummaryResponse> second = orderService.searchOrders(pending, first.get(2).getId(), 3);
+
+        assertThat(first).hasSize(3)
+                .extracting(OrderSummaryResponse::getId)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(second).hasSize(1);
+        assertThat(second.get(0).getId()).isLessThan(first.get(2).getId());
+        assertThat(second).allMatch(order -> order.getStatus() == OrderStatus.PAYMENT_PENDING);
+
+        List<OrderSummaryResponse> exported = new ArrayList<>();
+        long count = orderService.exportOrders(pending, exported::add);
+        assertThat(count).isEqualTo(4);
+        List<OrderSummaryResponse> paged = new ArrayList<>(first);
+        paged.addAll(second);
+        assertThat(exported).extracting(OrderSummaryResponse::getId)
+                .containsExactlyElementsOf(paged.stream().map(OrderSummaryResponse::getId).toList());
+    }
+
+    // 상품 필터 없이 상태/기간 필터만 주면 그 조건만으로 조회된다
+    @Test
+    void statusAndCreatedRangeFiltersApplyOnTheirOwn() {
+        LocalDateTime from = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(orderRepository.save(Order.builder()
+                .lines(List.of(OrderLine.builder().productId(PRODUCT_ID + 1).quantity(1).build()))
+                .build()).getId());
+        }
+        orderService.updateOrderStatus(ids.get(1), OrderStatus.CANCELLED);
+        LocalDateTime to = LocalDateTime.now().plusSeconds(1);
+
+        OrderSearchCondition cancelled = OrderSearchCondition.builder()
+                .status(OrderStatus.CANCELLED).createdFrom(from).createdTo(to).build();
+        assertThat(orderService.searchOrders(cancelled, null, 10))
+                .extracting(OrderSummaryResponse::getId)
+                .containsExactly(ids.get(1));
+
+        OrderSearchCondition inRange = OrderSearchCondition.builder().createdFrom(from).createdTo(to).build();
+        assertThat(orderService.searchOrders(inRange, null, 10))
+                .extracting(OrderSummaryResponse::getId)
+                .containsExactly(ids.get(2), ids.get(1), ids.get(0));
+
+        OrderSearchCondition beforeRange = OrderSearchCondition.builder().createdTo(from).build();
+        assertThat(orderService.searchOrders(beforeRange, null, 200))
+                .extracting(OrderSummaryResponse::getId)
+                .doesNotContainAnyElementsOf(ids);
+    }
+}
@@ -0,0 +1,90 @@
+package com.tempo.order.service;
+
+import com.tempo.order.client.ProductClient;
+import com.tempo.order.domain.OrderStatus;
+import com.tempo.order.dto.OrderRequest;
+import com.tempo.order.dto.OrderResponse;
+import com.tempo.order.dto.StockReservationResponse;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.blockhound.BlockHound;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderServiceNonBlockingTest {
+
+    private static final int ORDERS = 200;
+    private static final int CONCURRENCY = 64;
+
+    @MockitoBean
+    private ProductClient productClient;
+
+    @Autowired
+    private OrderService orderService;
+
+    @BeforeAll
+    static void installBlockHound() {
+        // JDBC 커넥션 획득을 블로킹 호출로 등록하여, 논블로킹 스레드에서 DB에 접근하면 즉시 실패하게 한다.
+        BlockHound.builder()
+                .markAsBlocking("com.zaxxer.hikari.HikariDataSource", "getConnection", "()Ljava/sql/Connection;")
+                .install();
+    }
+
+    @Test
+    void createOrderNeverBlocksNonBlockingThreads() {
+        StockReservationResponse reservation = mock(StockReservationResponse.class);
+        given(reservation.getReservationId()).willReturn("reservation-1");
+        // 실제 WebClient 응답처럼 논블로킹 스레드에서 결과가 전달되도록 한다.
+        given(productClient.reserveStocks(anyList()))
+                .willAnswer(invocation -> Mono.just(List.of(reservation)).publishOn(Schedulers.parallel()));
+
+        Flux.range(0, ORDERS)
+                .flatMap(i -> orderService.createOrder(OrderRequest.builder()
+                        .productId(1L)
+                        .quantity(1)
+                        .build()), CONCURRENCY)
+                .as(StepVerifier::create)
+                .expectNextCount(ORDERS)
+                .verifyComplete();
+    }
+
+    @Test
+    void completePaymentNeverBlocksNonBlockingThreads() {
+        StockReservationResponse reservation = mock(StockReservationResponse.class);
+        given(reservation.getReservationId()).willReturn("reservation-2");
+        given(productClient.reserveStocks(anyList()))
+                .willAnswer(invocation -> Mono.just(List.of(reservation)).publishOn(Schedulers.parallel()));
+        // 확정 응답도 논블로킹 스레드에서 전달되므로, 이후 상태 변경이 그 스레드에서 DB 에 접근하면 실패한다.
+        given(productClient.confirmReservations(anyList()))
+                .willAnswer(invocation -> Mono.<Void>empty().publishOn(Schedulers.parallel()));
+        List<Long> orderIds = Flux.range(0, CONCURRENCY)
+                .flatMap(i -> orderService.createOrder(OrderRequest.builder()
+                        .productId(1L)
+                        .quantity(1)
+                        .build()), CONCURRENCY)
+                .map(OrderResponse::getId)
+                .collectList()
+                .block();
+
+        Flux.fromIterable(orderIds)
+                .flatMap(orderService::completePayment, CONCURRENCY)
+                .map(OrderResponse::getStatus)
+                .as(StepVerifier::create)
+                .thenConsumeWhile(status -> status == OrderStatus.PAYMENT_COMPLETED)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,206 @@
+package com.tempo.order.service;
+
+import com.tempo.order.client.ProductClient;
+import com.tempo.order.domain.Order;
+import com.tempo.order.domain.OrderLine;
+import com.tempo.order.domain.OrderStatus;
+import com.tempo.order.domain.PaymentNotificationType;
+import com.tempo.order.domain.ProcessedPaymentNotification;
+import com.tempo.order.dto.PaymentNotificationRequest;
+import com.tempo.order.dto.PaymentNotificationResult;
+import com.tempo.order.repository.OrderEventRepository;
+import com.tempo.order.repository.OrderRepository;
+import com.tempo.order.repository.ProcessedPaymentNotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentNotificationServiceTest {
+
+    @MockitoBean
+    private ProductClient productClient;
+
+    @Autowired
+    private PaymentNotificationService notificationService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockitoSpyBean
+    private OrderEventRepository orderEventRepository;
+
+    @MockitoSpyBean
+    private ProcessedPaymentNotificationRepository processedRepository;
+
+    @Test
+    void duplicateDeliveryIsAppliedOnce() {
+        given(productClient.confirmReservations(anyList())).willReturn(Mono.empty());
+        Long orderId = newOrder("reservation-duplicate");
+        PaymentNotificationRequest completed = notification(orderId, PaymentNotificationType.COMPLETED);
+
+        // 같은 요청 안의 중복과 다음 요청으로 다시 온 중복 모두 한 번만 반영한다
+        List<PaymentNotificationResult> first = notificationService.applyNotifications(List.of(completed, completed));
+        List<PaymentNotificationResult> second = notificationService.applyNotifications(List.of(completed));
+
+        assertThat(first).extracting(PaymentNotificationResult::getResult)
+                .containsOnly(PaymentNotificationResult.Result.APPLIED);
+        assertThat(second).extracting(PaymentNotificationResult::getResult)
+                .containsExactly(PaymentNotificationResult.Result.DUPLICATE);
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.PAYMENT_COMPLETED);
+        assertThat(orderService.getOrderStatusChanges(orderId)).hasSize(1);
+        verify(productClient, times(1)).confirmReservations(List.of("reservation-duplicate"));
+    }
+
+    @Test
+    void lateCompletedDoesNotReviveCancelledOrder() {
+        Long orderId = newOrder("reservation-late");
+        given(productClient.cancelReservations(anyList())).willReturn(Mono.empty());
+
+        // 취소 알림이 먼저 도착하고 결제 완료 알림이 늦게 온 경우
+        notificationService.applyNotifications(List.of(notification(orderId, PaymentNotificationType.CANCELLED)));
+        List<PaymentNotificationResult> late = notificationService.applyNotifications(
+                List.of(notification(orderId, PaymentNotificationType.COMPLETED)));
+
+        assertThat(late).extracting(PaymentNotificationResult::getResult)
+                .containsExactly(PaymentNotificationResult.Result.IGNORED);
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.CANCELLED);
+        verify(productClient, never()).confirmReservations(anyList());
+    }
+
+    @Test
+    void cancelAfterCompletionRestocksAndRetriesOnFailure() {
+        given(productClient.confirmReservations(anyList())).willReturn(Mono.empty());
+        given(productClient.cancelReservations(anyList()))
+                .willReturn(Mono.error(new IllegalStateException("상품 서비스 장애")))
+                .willReturn(Mono.empty());
+        Long orderId = newOrder("reservation-cancel");
+        notificationService.applyNotifications(List.of(notification(orderId, PaymentNotificationType.COMPLETED)));
+        PaymentNotificationRequest cancelled = notification(orderId, PaymentNotificationType.CANCELLED);
+
+        // 재고 복구에 실패하면 상태를 바꾸지 않고 재시도 대상으로 돌려준다
+        assertThat(notificationService.applyNotifications(List.of(cancelled)))
+                .extracting(PaymentNotificationResult::getResult)
+                .containsExactly(PaymentNotificationResult.Result.REJECTED);
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.PAYMENT_COMPLETED);
+
+        assertThat(notificationService.applyNotifications(List.of(cancelled)))
+                .extracting(PaymentNotificationResult::getResult)
+                .containsExactly(PaymentNotificationResult.Result.APPLIED);
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.CANCELLED);
+        verify(productClient, times(2)).cancelReservations(List.of("reservation-cancel"));
+    }
+
+    @Test
+    void repaymentAfterFailureIsIgnoredInsteadOfConfirmingReleasedReservations() {
+        given(productClient.releaseReservations(anyList())).willReturn(Mono.empty());
+        Long orderId = newOrder("reservation-failed");
+
+        // 결제 실패를 반영하면 예약이 해제되므로, 같은 주문으로 다시 결제 중/완료로 돌아갈 수 없다
+        notificationService.applyNotifications(List.of(notification(orderId, PaymentNotificationType.FAILED)));
+        List<PaymentNotificationResult> repaid = notificationService.applyNotifications(
+                List.of(notification(orderId, PaymentNotificationType.COMPLETED)));
+
+        assertThat(repaid).extracting(PaymentNotificationResult::getResult)
+                .containsExactly(PaymentNotificationResult.Result.IGNORED);
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.PAYMENT_FAILED);
+        assertThatThrownBy(() -> orderService.updateOrderStatus(orderId, OrderStatus.PAYMENT_PENDING))
+                .isInstanceOf(IllegalStateException.class);
+        verify(productClient, times(1)).releaseReservations(List.of("reservation-failed"));
+        verify(productClient, never()).confirmReservations(anyList());
+    }
+
+    @Test
+    void secondNotificationForSameOrderInOneRequestWaits() {
+        given(productClient.confirmReservations(anyList())).willReturn(Mono.empty());
+        given(productClient.cancelReservations(anyList())).willReturn(Mono.empty());
+        Long orderId = newOrder("reservation-same-request");
+
+        List<PaymentNotificationResult> results = notificationService.applyNotifications(List.of(
+                notification(orderId, PaymentNotificationType.COMPLETED),
+                notification(orderId, PaymentNotificationType.CANCELLED)));
+
+        assertThat(results).extracting(PaymentNotificationResult::getResult)
+                .containsExactly(PaymentNotificationResult.Result.APPLIED, PaymentNotificationResult.Result.REJECTED);
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.PAYMENT_COMPLETED);
+    }
+
+    // 상태를 확인한 뒤 저장하기 전에 다른 요청이 주문을 취소하면, 일괄 저장은 버전 충돌로 실패하고
+    // 알림별 재반영에서 최신 상태(취소)를 보고 반영하지 않는다
+    @Test
+    void concurrentStatusChangeIsNotOverwritten() {
+        given(productClient.confirmReservations(anyList())).willReturn(Mono.empty());
+        Long orderId = newOrder("reservation-race");
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> orderService.updateOrderStatus(orderId, OrderStatus.CANCELLED)).join();
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(orderEventRepository).saveAll(anyList());
+
+        List<PaymentNotificationResult> results = notificationService.applyNotifications(
+                List.of(notification(orderId, PaymentNotificationType.COMPLETED)));
+
+        assertThat(results).extracting(PaymentNotificationResult::getResult)
+                .containsExactly(PaymentNotificationResult.Result.IGNORED);
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    // 같은 알림을 다른 요청이 동시에 기록하면 그 알림만 DUPLICATE 이고, 같은 요청의 나머지는 반영된다
+    @Test
+    void concurrentDuplicateFailsOnlyThatNotification() {
+        given(productClient.confirmReservations(anyList())).willReturn(Mono.empty());
+        Long racedOrderId = newOrder("reservation-duplicate-race");
+        Long otherOrderId = newOrder("reservation-duplicate-other");
+        PaymentNotificationRequest raced = notification(racedOrderId, PaymentNotificationType.COMPLETED);
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> processedRepository.saveAndFlush(new ProcessedPaymentNotification(
+                    raced.getIdempotencyKey(), racedOrderId, PaymentNotificationType.COMPLETED))).join();
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(processedRepository).saveAllAndFlush(anyList());
+
+        List<PaymentNotificationResult> results = notificationService.applyNotifications(
+                List.of(raced, notification(otherOrderId, PaymentNotificationType.COMPLETED)));
+
+        assertThat(results).extracting(PaymentNotificationResult::getResult)
+                .containsExactly(PaymentNotificationResult.Result.DUPLICATE, PaymentNotificationResult.Result.APPLIED);
+        assertThat(statusOf(otherOrderId)).isEqualTo(OrderStatus.PAYMENT_COMPLETED);
+    }
+
+    private Long newOrder(String reservationId) {
+        return orderRepository.save(Order.builder()
+                .lines(List.of(OrderLine.builder().productId(1L).quantity(1).reservationId(reservationId).build()))
+                .build()).getId();
+    }
+
+    private PaymentNotificationRequest notification(Long orderId, PaymentNotificationType type) {
+        return PaymentNotificationRequest.builder()
+                .idempotencyKey(UUID.randomUUID().toString())
+                .orderId(orderId)
+                .type(type)
+                .build();
+    }
+
+    private OrderStatus statusOf(Long orderId) {
+        return orderRepository.findById(orderId).orElseThrow().getStatus();
+    }
+}
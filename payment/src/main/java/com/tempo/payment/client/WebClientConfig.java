@@ -1,14 +1,68 @@
 package com.tempo.payment.client;
 
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
+@EnableConfigurationProperties(WebClientProperties.class)
 public class WebClientConfig {
+    private static final String DOWNSTREAM = "order-service";
+
+    // 하위 서비스별 이름 있는 커넥션 풀 (active/idle/pending 지표는 reactor.netty.connection.provider.* 로 노출)
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider orderServiceConnectionProvider(WebClientProperties properties) {
+        WebClientProperties.Pool pool = properties.client(DOWNSTREAM).getPool();
+        return ConnectionProvider.builder(DOWNSTREAM)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeout()))
+                .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTime()))
+                .maxLifeTime(Duration.ofMillis(pool.getMaxLifeTime()))
+                .evictInBackground(Duration.ofMillis(pool.getEvictInBackground()))
+                .metrics(true)
+                .build();
+    }
 
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    public WebClient webClient(WebClient.Builder builder,
+                               WebClientProperties properties,
+                               OutboundAccessLogFilter outboundAccessLogFilter,
+                               ConnectionProvider orderServiceConnectionProvider) {
+        WebClientProperties.Client client = properties.client(DOWNSTREAM);
+        return builder
+                .baseUrl(client.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient(orderServiceConnectionProvider, client)))
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(client.getMaxInMemorySize()))
+                .filter(outboundAccessLogFilter)
+                .build();
+    }
+
+    private static HttpClient httpClient(ConnectionProvider connectionProvider, WebClientProperties.Client client) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, client.getConnectTimeout())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .compress(client.isCompress())
+                .responseTimeout(Duration.ofMillis(client.getResponseTimeout()))
+                .doOnConnected(conn ->
+                        conn.addHandlerLast(new ReadTimeoutHandler(client.getReadTimeout(), TimeUnit.MILLISECONDS))
+                                .addHandlerLast(new WriteTimeoutHandler(client.getWriteTimeout(), TimeUnit.MILLISECONDS)));
+
+        if (client.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return httpClient;
     }
-}
\ No newline at end of file
+}
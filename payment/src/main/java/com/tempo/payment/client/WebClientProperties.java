@@ -0,0 +1,49 @@
+package com.tempo.payment.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 하위 서비스(downstream)별 WebClient 설정 (webclient.clients.<이름>.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "webclient")
+public class WebClientProperties {
+    private Map<String, Client> clients = new LinkedHashMap<>();
+
+    public Client client(String name) {
+        Client client = clients.get(name);
+        if (client == null) {
+            throw new IllegalStateException("webclient.clients." + name + " 설정이 없습니다.");
+        }
+        return client;
+    }
+
+    @Getter
+    @Setter
+    public static class Client {
+        private String baseUrl;
+        private int connectTimeout = 5000;     // ms
+        private int readTimeout = 5000;        // ms
+        private int writeTimeout = 5000;       // ms
+        private int responseTimeout = 5000;    // ms
+        private int maxInMemorySize = 256 * 1024;
+        private boolean compress = true;       // 응답 압축(gzip) 요청
+        private boolean http2 = false;         // h2c 사용 (HTTP/1.1 업그레이드)
+        private Pool pool = new Pool();
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int maxConnections = 100;
+        private int pendingAcquireMaxCount = 1000;   // 커넥션 대기열 최대 길이
+        private long pendingAcquireTimeout = 3000;   // 커넥션 대기 최대 시간 (ms)
+        private long maxIdleTime = 30000;            // 유휴 커넥션 유지 시간 (ms)
+        private long maxLifeTime = 300000;           // 커넥션 최대 수명 (ms)
+        private long evictInBackground = 30000;      // 만료 커넥션 정리 주기 (ms)
+    }
+}
@@ -0,0 +1,7 @@
+package com.tempo.payment.domain;
+
+public enum OutboxStatus {
+    PENDING,    // 전송 대기 (재시도 포함)
+    SENT,       // 주문 서비스 반영 완료
+    FAILED      // 최대 재시도 초과
+}
@@ -0,0 +1,7 @@
+package com.tempo.payment.domain;
+
+public enum PaymentNotificationType {
+    COMPLETED,  // 결제 완료
+    FAILED,     // 결제 실패
+    CANCELLED   // 결제 취소
+}
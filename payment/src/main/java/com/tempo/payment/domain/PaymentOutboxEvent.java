@@ -0,0 +1,115 @@
+package com.tempo.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 주문 서비스로 보낼 결제 알림 (결제 상태 변경과 같은 트랜잭션에서 저장되고, PaymentOutboxRelay가 전송)
+@Entity
+@Table(name = "payment_outbox", indexes = {
+        @Index(name = "idx_payment_outbox_status_next_attempt_at", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_payment_outbox_order_id_status", columnList = "order_id, status")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PaymentOutboxEvent {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 주문 서비스에서 중복 반영을 막기 위한 키
+    @Column(nullable = false, unique = true, updatable = false)
+    private String idempotencyKey;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentNotificationType type;
+
+    private String paymentKey;
+    private String paymentMethod;
+    private String reason;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    private LocalDateTime sentAt;
+
+    @Builder
+    public PaymentOutboxEvent(Long orderId, PaymentNotificationType type,
+                              String paymentKey, String paymentMethod, String reason) {
+        this.idempotencyKey = UUID.randomUUID().toString();
+        this.orderId = orderId;
+        this.type = type;
+        this.paymentKey = paymentKey;
+        this.paymentMethod = paymentMethod;
+        this.reason = reason;
+        this.occurredAt = LocalDateTime.now();
+        this.status = OutboxStatus.PENDING;
+        this.nextAttemptAt = this.occurredAt;
+    }
+
+    public static PaymentOutboxEvent completed(Payment payment) {
+        return PaymentOutboxEvent.builder()
+                .orderId(payment.getOrderId())
+                .type(PaymentNotificationType.COMPLETED)
+                .paymentKey(payment.getPaymentKey())
+                .paymentMethod(payment.getPaymentMethod().name())
+                .build();
+    }
+
+    public static PaymentOutboxEvent failed(Payment payment, String reason) {
+        return PaymentOutboxEvent.builder()
+                .orderId(payment.getOrderId())
+                .type(PaymentNotificationType.FAILED)
+                .paymentKey(payment.getPaymentKey())
+                .reason(reason)
+                .build();
+    }
+
+    public static PaymentOutboxEvent cancelled(Payment payment, String reason) {
+        return PaymentOutboxEvent.builder()
+                .orderId(payment.getOrderId())
+                .type(PaymentNotificationType.CANCELLED)
+                .paymentKey(payment.getPaymentKey())
+                .reason(reason)
+                .build();
+    }
+
+    public void markSent() {
+        this.status = OutboxStatus.SENT;
+        this.sentAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    public void markRetry(String error, LocalDateTime nextAttemptAt, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        this.nextAttemptAt = nextAttemptAt;
+        if (this.attempts >= maxAttempts) {
+            this.status = OutboxStatus.FAILED;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.tempo.payment.dto;
+
+import com.tempo.payment.domain.PaymentNotificationType;
+import com.tempo.payment.domain.PaymentOutboxEvent;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 주문 서비스 일괄 알림 API(POST /api/orders/payment-notifications)의 단건 항목
+@Getter
+public class PaymentNotificationDto {
+    private final String idempotencyKey;
+    private final Long orderId;
+    private final PaymentNotificationType type;
+    private final String paymentKey;
+    private final String paymentMethod;
+    private final String reason;
+    private final LocalDateTime occurredAt;
+
+    public PaymentNotificationDto(PaymentOutboxEvent event) {
+        this.idempotencyKey = event.getIdempotencyKey();
+        this.orderId = event.getOrderId();
+        this.type = event.getType();
+        this.paymentKey = event.getPaymentKey();
+        this.paymentMethod = event.getPaymentMethod();
+        this.reason = event.getReason();
+        this.occurredAt = event.getOccurredAt();
+    }
+}
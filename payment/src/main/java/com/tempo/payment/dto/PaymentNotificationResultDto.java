@@ -0,0 +1,18 @@
+package com.tempo.payment.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 주문 서비스가 알림별로 돌려주는 처리 결과 (APPLIED, DUPLICATE, IGNORED, REJECTED)
+@Getter
+@NoArgsConstructor
+public class PaymentNotificationResultDto {
+    private String idempotencyKey;
+    private String result;
+    private String message;
+
+    // 이미 반영된 알림(DUPLICATE)과 주문 상태상 반영할 수 없는 알림(IGNORED)도 전송 완료로 본다.
+    public boolean isAccepted() {
+        return "APPLIED".equals(result) || "DUPLICATE".equals(result) || "IGNORED".equals(result);
+    }
+}
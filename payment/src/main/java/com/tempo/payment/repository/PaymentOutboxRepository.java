@@ -0,0 +1,33 @@
+package com.tempo.payment.repository;
+
+import com.tempo.payment.domain.OutboxStatus;
+import com.tempo.payment.domain.PaymentOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutboxEvent, Long> {
+
+    // 전송 시각이 된 대기 알림을 오래된 순으로 조회 (릴레이 배치용)
+    // 같은 주문에 더 먼저 쌓인 대기 알림이 있으면 제외한다. 앞 알림이 백오프 중이면 뒤 알림도 함께 기다리므로
+    // 한 주문의 알림은 저장 순서대로 한 건씩 전송된다.
+    @Query("""
+            SELECT e FROM PaymentOutboxEvent e
+            WHERE e.status = :status AND e.nextAttemptAt <= :now
+              AND NOT EXISTS (SELECT 1 FROM PaymentOutboxEvent p
+                              WHERE p.orderId = e.orderId AND p.status = :status AND p.id < e.id)
+            ORDER BY e.id ASC
+            """)
+    List<PaymentOutboxEvent> findDueHeads(@Param("status") OutboxStatus status,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable pageable);
+
+    // 특정 상태의 알림 건수 조회
+    long countByStatus(OutboxStatus status);
+}
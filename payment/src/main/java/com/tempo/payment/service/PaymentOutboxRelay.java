@@ -0,0 +1,114 @@
+package com.tempo.payment.service;
+
+import com.tempo.payment.client.OrderServiceClient;
+import com.tempo.payment.domain.OutboxStatus;
+import com.tempo.payment.domain.PaymentOutboxEvent;
+import com.tempo.payment.dto.PaymentNotificationDto;
+import com.tempo.payment.dto.PaymentNotificationResultDto;
+import com.tempo.payment.repository.PaymentOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// payment_outbox 에 쌓인 알림을 주기적으로 모아 주문 서비스에 일괄 전송
+// - 한 번에 batch-size 건을 읽어 chunk-size 단위 요청으로 나누고, 최대 concurrency 개까지 동시에 보낸다
+// - 주문마다 가장 먼저 쌓인 대기 알림만 읽으므로(findDueHeads) 한 주문의 알림은 동시에 보내지지 않고 저장 순서대로 반영된다
+// - 실패한 알림은 지수 백오프로 다음 전송 시각을 미루고(그동안 같은 주문의 뒤 알림도 대기), max-attempts 를 넘으면 FAILED 로 남긴다
+// - 주문 서비스는 idempotencyKey 로 중복을 걸러내므로 같은 알림을 다시 보내도 안전하다
+@Slf4j
+@Component
+public class PaymentOutboxRelay {
+    private final PaymentOutboxRepository outboxRepository;
+    private final OrderServiceClient orderServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int chunkSize;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public PaymentOutboxRelay(PaymentOutboxRepository outboxRepository,
+                              OrderServiceClient orderServiceClient,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${payment.outbox.batch-size:200}") int batchSize,
+                              @Value("${payment.outbox.chunk-size:50}") int chunkSize,
+                              @Value("${payment.outbox.concurrency:4}") int concurrency,
+                              @Value("${payment.outbox.max-attempts:10}") int maxAttempts,
+                              @Value("${payment.outbox.initial-backoff-ms:1000}") long initialBackoffMillis,
+                              @Value("${payment.outbox.max-backoff-ms:300000}") long maxBackoffMillis) {
+        this.outboxRepository = outboxRepository;
+        this.orderServiceClient = orderServiceClient;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${payment.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        List<PaymentOutboxEvent> events = outboxRepository.findDueHeads(
+                OutboxStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Map<String, PaymentNotificationResultDto> results = Flux.fromIterable(partition(events))
+                .flatMap(chunk -> orderServiceClient.sendPaymentNotifications(chunk.stream()
+                                .map(PaymentNotificationDto::new)
+                                .collect(Collectors.toList()))
+                        .onErrorResume(e -> Mono.just(List.of())), concurrency)
+                .flatMapIterable(Function.identity())
+                .collectMap(PaymentNotificationResultDto::getIdempotencyKey)
+                .block(Duration.ofMinutes(1));
+
+        LocalDateTime now = LocalDateTime.now();
+        int sent = 0;
+        for (PaymentOutboxEvent event : events) {
+            PaymentNotificationResultDto result = results.get(event.getIdempotencyKey());
+            if (result != null && result.isAccepted()) {
+                event.markSent();
+                sent++;
+            } else {
+                String error = result != null ? result.getMessage() : "주문 서비스 응답 없음";
+                event.markRetry(error, now.plus(backoff(event.getAttempts() + 1)), maxAttempts);
+                if (event.getStatus() == OutboxStatus.FAILED) {
+                    log.error("결제 알림 전송 포기 - orderId: {}, type: {}, attempts: {}, error: {}",
+                            event.getOrderId(), event.getType(), event.getAttempts(), error);
+                }
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(events));
+
+        log.info("결제 알림 전송 완료 - total: {}, sent: {}, retry: {}", events.size(), sent, events.size() - sent);
+    }
+
+    private Duration backoff(int attempts) {
+        long delay = initialBackoffMillis << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxBackoffMillis));
+    }
+
+    private List<List<PaymentOutboxEvent>> partition(List<PaymentOutboxEvent> events) {
+        List<List<PaymentOutboxEvent>> chunks = new ArrayList<>();
+        for (int i = 0; i < events.size(); i += chunkSize) {
+            chunks.add(events.subList(i, Math.min(i + chunkSize, events.size())));
+        }
+        return chunks;
+    }
+}
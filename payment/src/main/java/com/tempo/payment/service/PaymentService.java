@@ -1,18 +1,21 @@
 package com.tempo.payment.service;
 
-import com.tempo.payment.client.OrderServiceClient;
 import com.tempo.payment.client.PgClient;
 import com.tempo.payment.domain.Payment;
 import com.tempo.payment.domain.PaymentMethod;
+import com.tempo.payment.domain.PaymentOutboxEvent;
 import com.tempo.payment.domain.PaymentStatus;
 import com.tempo.payment.dto.PaymentRequestDto;
 import com.tempo.payment.dto.PaymentResponseDto;
+import com.tempo.payment.repository.PaymentOutboxRepository;
 import com.tempo.payment.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,9 +27,11 @@ import java.util.stream.Collectors;
 public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final PgClient pgClient;
-    private final OrderServiceClient orderServiceClient;
+    private final PaymentOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    // PG 응답 이후의 결제 상태 변경과 주문 서비스 알림(outbox) 저장을 하나의 트랜잭션으로 묶는다.
+    // 알림 전송은 PaymentOutboxRelay가 커밋 이후에 비동기로 처리한다.
     public Mono<PaymentResponseDto> processPayment(PaymentRequestDto request) {
         log.info("결제 처리 시작 - orderId: {}, amount: {}", request.getOrderId(), request.getAmount());
 
@@ -42,35 +47,22 @@ public class PaymentService {
         log.info("결제 정보 저장 완료 - paymentId: {}", savedPayment.getId());
 
         return pgClient.requestPayment(request)
-                .flatMap(pgResponse -> {
+                .publishOn(Schedulers.boundedElastic())
+                .map(pgResponse -> transactionTemplate.execute(status -> {
                     if (pgResponse.isSuccess()) {
                         savedPayment.setPaymentKey(pgResponse.getPaymentKey());
                         savedPayment.updateStatus(PaymentStatus.COMPLETED);
+                        outboxRepository.save(PaymentOutboxEvent.completed(savedPayment));
                         log.info("결제 성공 - paymentId: {}, paymentKey: {}",
                                 savedPayment.getId(), pgResponse.getPaymentKey());
-
-                        // 주문 서비스에 결제 완료 알림
-                        return orderServiceClient.notifyPaymentComplete(
-                                request.getOrderId(),
-                                pgResponse.getPaymentKey(),
-                                request.getPaymentMethod().name()
-                        ).thenReturn(savedPayment);
                     } else {
                         savedPayment.fail(pgResponse.getErrorMessage());
+                        outboxRepository.save(PaymentOutboxEvent.failed(savedPayment, pgResponse.getErrorMessage()));
                         log.error("결제 실패 - paymentId: {}, error: {}",
                                 savedPayment.getId(), pgResponse.getErrorMessage());
-
-                        // 주문 서비스에 결제 실패 알림
-                        return orderServiceClient.notifyPaymentFailed(
-                                request.getOrderId(),
-                                pgResponse.getErrorMessage()
-                        ).thenReturn(savedPayment);
                     }
-                })
-                .map(updatedPayment -> {
-                    Payment finalPayment = paymentRepository.save(updatedPayment);
-                    return new PaymentResponseDto(finalPayment);
-                })
+                    return new PaymentResponseDto(paymentRepository.save(savedPayment));
+                }))
                 .doOnError(error -> {
                     log.error("결제 처리 중 오류 발생", error);
                     savedPayment.fail("시스템 오류: " + error.getMessage());
@@ -93,12 +85,8 @@ public class PaymentService {
                         payment.updateStatus(PaymentStatus.CANCELLED);
                         Payment cancelledPayment = paymentRepository.save(payment);
 
-                        // 주문 서비스에 결제 취소 알림
-                        orderServiceClient.notifyPaymentCancelled(
-                                payment.getOrderId(),
-                                payment.getPaymentKey(),
-                                "사용자 요청에 의한 취소"
-                        ).subscribe();
+                        // 주문 서비스에 보낼 결제 취소 알림 저장
+                        outboxRepository.save(PaymentOutboxEvent.cancelled(payment, "사용자 요청에 의한 취소"));
 
                         return new PaymentResponseDto(cancelledPayment);
                     } else {
@@ -166,9 +154,8 @@ public class PaymentService {
             payment.fail("결제 시간 초과");
             paymentRepository.save(payment);
 
-            // 주문 서비스에 결제 실패 알림
-            orderServiceClient.notifyPaymentFailed(payment.getOrderId(), "결제 시간 초과")
-                    .subscribe();
+            // 주문 서비스에 보낼 결제 실패 알림 저장
+            outboxRepository.save(PaymentOutboxEvent.failed(payment, "결제 시간 초과"));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.tempo.payment.client;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 개별 요청 샘플링, URI 템플릿별 집계, 요약 출력 후 초기화를 확인한다
+class OutboundAccessLogFilterTest {
+
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("outbound-access");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void aggregatesPerMethodAndUriTemplateAndResetsAfterSummary() {
+        OutboundAccessLogFilter filter = new OutboundAccessLogFilter(0);
+
+        exchange(filter, HttpMethod.GET, "/api/orders/1/validate", HttpStatus.OK);
+        exchange(filter, HttpMethod.GET, "/api/orders/2/validate", HttpStatus.OK);
+        exchange(filter, HttpMethod.GET, "/api/orders/3/validate", HttpStatus.NOT_FOUND);
+        exchange(filter, HttpMethod.POST, "/api/orders/payment-notifications", HttpStatus.SERVICE_UNAVAILABLE);
+        assertThatThrownBy(() -> filter.filter(request(HttpMethod.GET, "/api/orders/4/validate"),
+                        request -> Mono.error(new IllegalStateException("연결 실패"))).block())
+                .isInstanceOf(IllegalStateException.class);
+
+        // 샘플링을 끈 상태에서도 5xx 와 예외는 개별로 남는다
+        assertThat(messages(Level.WARN)).containsExactly(
+                "POST /api/orders/payment-notifications status=503",
+                "GET /api/orders/{orderId}/validate status=ERROR");
+        assertThat(messages(Level.INFO)).isEmpty();
+
+        filter.logSummary();
+
+        List<String> summaries = messages(Level.INFO);
+        assertThat(summaries).hasSize(2);
+        assertThat(summaries).anySatisfy(line -> assertThat(line)
+                .startsWith("summary GET /api/orders/{orderId}/validate count=5 2xx=2 3xx=0 4xx=1 5xx=0 error=1"));
+        assertThat(summaries).anySatisfy(line -> assertThat(line)
+                .startsWith("summary POST /api/orders/payment-notifications count=1 2xx=0 3xx=0 4xx=0 5xx=1 error=0"));
+
+        // 요약 후에는 카운터가 초기화되어 호출이 없던 구간의 요약은 출력하지 않는다
+        appender.list.clear();
+        filter.logSummary();
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void logsEverySampledRequestAndFallsBackToPathWithoutTemplate() {
+        OutboundAccessLogFilter filter = new OutboundAccessLogFilter(1);
+
+        exchange(filter, HttpMethod.GET, "/api/orders/1/validate", HttpStatus.OK);
+        filter.filter(ClientRequest.create(HttpMethod.GET, URI.create("http://order-service/actuator/health")).build(),
+                request -> Mono.just(ClientResponse.create(HttpStatus.OK).build())).block();
+
+        assertThat(messages(Level.INFO)).containsExactly(
+                "GET /api/orders/{orderId}/validate status=200",
+                "GET /actuator/health status=200");
+    }
+
+    private void exchange(OutboundAccessLogFilter filter, HttpMethod method, String path, HttpStatus status) {
+        filter.filter(request(method, path), request -> Mono.just(ClientResponse.create(status).build())).block();
+    }
+
+    private ClientRequest request(HttpMethod method, String path) {
+        String template = path.equals("/api/orders/payment-notifications") ? path : "/api/orders/{orderId}/validate";
+        return ClientRequest.create(method, URI.create("http://order-service" + path))
+                .attribute(URI_TEMPLATE_ATTRIBUTE, template)
+                .build();
+    }
+
+    private List<String> messages(Level level) {
+        return appender.list.stream()
+                .filter(event -> event.getLevel() == level)
+                .map(ILoggingEvent::getFormattedMessage)
+                // 소요 시간은 실행 환경마다 달라 비교에서 제외한다
+                .map(message -> message.replaceFirst(" durationMs=\\d+$", ""))
+                .toList();
+    }
+}
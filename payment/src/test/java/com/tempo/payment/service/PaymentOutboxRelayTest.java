@@ -0,0 +1,152 @@
+package com.tempo.payment.service;
+
+import com.tempo.payment.client.OrderServiceClient;
+import com.tempo.payment.domain.OutboxStatus;
+import com.tempo.payment.domain.PaymentNotificationType;
+import com.tempo.payment.domain.PaymentOutboxEvent;
+import com.tempo.payment.dto.PaymentNotificationDto;
+import com.tempo.payment.dto.PaymentNotificationResultDto;
+import com.tempo.payment.repository.PaymentOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+// 주문별 전송 순서, 재시도 백오프, 중복 응답 처리를 확인한다 (스케줄 실행은 막고 relay() 를 직접 호출).
+@SpringBootTest(properties = {
+        "payment.outbox.relay-interval-ms=3600000",
+        "payment.outbox.initial-backoff-ms=60000",
+        "payment.outbox.max-attempts=2"
+})
+class PaymentOutboxRelayTest {
+
+    @MockitoBean
+    private OrderServiceClient orderServiceClient;
+
+    @Autowired
+    private PaymentOutboxRelay relay;
+
+    @Autowired
+    private PaymentOutboxRepository outboxRepository;
+
+    // 전송된 알림 (호출 순서대로), 거절할 알림 키
+    private final List<PaymentNotificationDto> sent = new ArrayList<>();
+    private final Set<String> rejectKeys = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        sent.clear();
+        rejectKeys.clear();
+        given(orderServiceClient.sendPaymentNotifications(anyList())).willAnswer(invocation -> {
+            List<PaymentNotificationDto> notifications = invocation.getArgument(0);
+            sent.addAll(notifications);
+            return Mono.just(notifications.stream()
+                    .map(notification -> result(notification.getIdempotencyKey(),
+                            rejectKeys.contains(notification.getIdempotencyKey()) ? "REJECTED" : "APPLIED"))
+                    .toList());
+        });
+    }
+
+    @Test
+    void laterEventWaitsWhileEarlierEventOfSameOrderIsBackingOff() {
+        PaymentOutboxEvent completed = save(1L, PaymentNotificationType.COMPLETED);
+        PaymentOutboxEvent cancelled = save(1L, PaymentNotificationType.CANCELLED);
+        PaymentOutboxEvent other = save(2L, PaymentNotificationType.COMPLETED);
+        rejectKeys.add(completed.getIdempotencyKey());
+
+        // 주문 1은 결제 완료만 보내고 취소는 보내지 않는다
+        relay.relay();
+        assertThat(sentKeys()).containsExactly(completed.getIdempotencyKey(), other.getIdempotencyKey());
+        PaymentOutboxEvent retrying = reload(completed);
+        assertThat(retrying.getAttempts()).isEqualTo(1);
+        assertThat(retrying.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(50));
+        assertThat(reload(other).getStatus()).isEqualTo(OutboxStatus.SENT);
+
+        // 앞 알림이 백오프 중이면 전송 시각이 된 취소 알림도 기다린다
+        relay.relay();
+        assertThat(sent).hasSize(2);
+
+        rejectKeys.clear();
+        makeDue(retrying);
+        relay.relay();
+        relay.relay();
+
+        assertThat(sentKeys()).containsExactly(completed.getIdempotencyKey(), other.getIdempotencyKey(),
+                completed.getIdempotencyKey(), cancelled.getIdempotencyKey());
+        assertThat(reload(completed).getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(reload(cancelled).getStatus()).isEqualTo(OutboxStatus.SENT);
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsAndReleasesNextEvent() {
+        PaymentOutboxEvent completed = save(3L, PaymentNotificationType.COMPLETED);
+        PaymentOutboxEvent cancelled = save(3L, PaymentNotificationType.CANCELLED);
+        rejectKeys.add(completed.getIdempotencyKey());
+
+        relay.relay();
+        makeDue(reload(completed));
+        relay.relay();
+
+        PaymentOutboxEvent failed = reload(completed);
+        assertThat(failed.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(2);
+
+        // 포기한 알림은 더 이상 뒤 알림을 막지 않는다
+        relay.relay();
+        assertThat(sentKeys()).containsExactly(completed.getIdempotencyKey(), completed.getIdempotencyKey(),
+                cancelled.getIdempotencyKey());
+        assertThat(reload(cancelled).getStatus()).isEqualTo(OutboxStatus.SENT);
+    }
+
+    @Test
+    void duplicateAndIgnoredResultsCountAsSent() {
+        PaymentOutboxEvent duplicate = save(4L, PaymentNotificationType.COMPLETED);
+        PaymentOutboxEvent ignored = save(5L, PaymentNotificationType.COMPLETED);
+        given(orderServiceClient.sendPaymentNotifications(anyList())).willReturn(Mono.just(List.of(
+                result(duplicate.getIdempotencyKey(), "DUPLICATE"),
+                result(ignored.getIdempotencyKey(), "IGNORED"))));
+
+        relay.relay();
+
+        assertThat(reload(duplicate).getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(reload(ignored).getStatus()).isEqualTo(OutboxStatus.SENT);
+    }
+
+    private PaymentOutboxEvent save(Long orderId, PaymentNotificationType type) {
+        return outboxRepository.save(PaymentOutboxEvent.builder().orderId(orderId).type(type).build());
+    }
+
+    private PaymentOutboxEvent reload(PaymentOutboxEvent event) {
+        return outboxRepository.findById(event.getId()).orElseThrow();
+    }
+
+    private void makeDue(PaymentOutboxEvent event) {
+        ReflectionTestUtils.setField(event, "nextAttemptAt", LocalDateTime.now());
+        outboxRepository.save(event);
+    }
+
+    private List<String> sentKeys() {
+        return sent.stream().map(PaymentNotificationDto::getIdempotencyKey).toList();
+    }
+
+    private static PaymentNotificationResultDto result(String idempotencyKey, String result) {
+        PaymentNotificationResultDto dto = new PaymentNotificationResultDto();
+        ReflectionTestUtils.setField(dto, "idempotencyKey", idempotencyKey);
+        ReflectionTestUtils.setField(dto, "result", result);
+        return dto;
+    }
+}
@@ -0,0 +1,36 @@
+package com.tempo.product.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+// 캐시 put/evict 를 트랜잭션 동기화에 맡겨, 가장 바깥 트랜잭션이 커밋된 뒤에 반영한다.
+// (updateStock/restoreStock 은 StockReservationService 의 트랜잭션 안에서도 불리므로 어드바이스 순서로는 보장되지 않는다.
+//  커밋 전에 무효화하면 그 사이 조회가 이전 재고를 TTL 동안 다시 캐시할 수 있다.)
+// 트랜잭션 밖에서는 바로 반영되고, 조회(get)는 항상 바로 읽는다.
+// 캐시 크기와 TTL은 application.yml의 spring.cache.caffeine.spec 으로 설정한다.
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    public static final String PRODUCT_CACHE = "products";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            caffeineCacheManager.setCacheSpecification(spec);
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            caffeineCacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -41,7 +41,7 @@ public class ErrorTestController {
     @GetMapping("/cascade-failure")
     public Mono<ResponseEntity<String>> triggerCascadeFailure() {
         return webClient.get()
-                .uri("http://localhost:8082/api/v1/orders/error")
+                .uri("/api/v1/orders/error")
                 .retrieve()
                 .bodyToMono(String.class)
                 .map(ResponseEntity::ok)
@@ -9,6 +9,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
@@ -24,6 +26,14 @@ class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping
+    public ResponseEntity<List<ProductResponse>> getProducts(@RequestParam List<Long> ids) {
+        log.info("GET /api/products 요청 수신 - ids: {}", ids);
+        List<ProductResponse> response = productService.getProducts(ids);
+        log.info("GET /api/products 응답 완료 - count: {}", response.size());
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping
     public ResponseEntity<ProductResponse> createProduct(@RequestBody ProductRequest request) {
         log.info("POST /api/products 요청 수신 - name: {}", request.getName());
@@ -33,6 +43,16 @@ class ProductController {
                 .body(response);
     }
 
+    @PutMapping("/{id}")
+    public ResponseEntity<ProductResponse> updateProduct(
+            @PathVariable Long id,
+            @RequestBody ProductRequest request) {
+        log.info("PUT /api/products/{} 요청 수신 - name: {}", id, request.getName());
+        ProductResponse response = productService.updateProduct(id, request);
+        log.info("PUT /api/products/{} 응답 완료", id);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}/stock")
     public ResponseEntity<Void> updateStock(
             @PathVariable Long id,
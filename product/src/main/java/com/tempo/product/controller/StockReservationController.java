@@ -0,0 +1,77 @@
+package com.tempo.product.controller;
+
+import com.tempo.product.dto.StockReservationBatchRequest;
+import com.tempo.product.dto.StockReservationRequest;
+import com.tempo.product.dto.StockReservationResponse;
+import com.tempo.product.service.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+@Slf4j
+class StockReservationController {
+    private final StockReservationService reservationService;
+
+    @PostMapping("/{id}/reservations")
+    public ResponseEntity<StockReservationResponse> reserve(
+            @PathVariable Long id,
+            @RequestBody StockReservationRequest request) {
+        log.info("POST /api/products/{}/reservations 요청 수신 - quantity: {}", id, request.getQuantity());
+        StockReservationResponse response = reservationService.reserve(id, request.getQuantity());
+        log.info("POST /api/products/{}/reservations 응답 완료 - reservationId: {}", id, response.getReservationId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    // 주문 한 건의 여러 줄을 한 번에 예약 (전부 성공하거나 전부 실패)
+    @PostMapping("/reservations/batch")
+    public ResponseEntity<List<StockReservationResponse>> reserveAll(@RequestBody StockReservationBatchRequest request) {
+        log.info("POST /api/products/reservations/batch 요청 수신 - count: {}",
+                request.getItems() == null ? 0 : request.getItems().size());
+        List<StockReservationResponse> response = reservationService.reserveAll(request.getItems());
+        log.info("POST /api/products/reservations/batch 응답 완료 - count: {}", response.size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/reservations/batch/confirm")
+    public ResponseEntity<List<StockReservationResponse>> confirmAll(@RequestBody List<String> reservationIds) {
+        log.info("POST /api/products/reservations/batch/confirm 요청 수신 - count: {}", reservationIds.size());
+        return ResponseEntity.ok(reservationService.confirmAll(reservationIds));
+    }
+
+    @PostMapping("/reservations/batch/release")
+    public ResponseEntity<Void> releaseAll(@RequestBody List<String> reservationIds) {
+        log.info("POST /api/products/reservations/batch/release 요청 수신 - count: {}", reservationIds.size());
+        reservationService.releaseAll(reservationIds);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/reservations/batch/cancel")
+    public ResponseEntity<Void> cancelAll(@RequestBody List<String> reservationIds) {
+        log.info("POST /api/products/reservations/batch/cancel 요청 수신 - count: {}", reservationIds.size());
+        reservationService.cancelAll(reservationIds);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public ResponseEntity<StockReservationResponse> confirm(@PathVariable String reservationId) {
+        log.info("POST /api/products/reservations/{}/confirm 요청 수신", reservationId);
+        StockReservationResponse response = reservationService.confirm(reservationId);
+        log.info("POST /api/products/reservations/{}/confirm 응답 완료", reservationId);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<Void> release(@PathVariable String reservationId) {
+        log.info("DELETE /api/products/reservations/{} 요청 수신", reservationId);
+        reservationService.release(reservationId);
+        log.info("DELETE /api/products/reservations/{} 응답 완료", reservationId);
+        return ResponseEntity.ok().build();
+    }
+}
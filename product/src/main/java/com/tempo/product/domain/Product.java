@@ -35,6 +35,11 @@ public class Product {
         this.stock = stock;
     }
 
+    public void updateDetails(String name, BigDecimal price) {
+        this.name = name;
+        this.price = price;
+    }
+
     public void updateStock(Integer quantity) {
         if (this.stock < quantity) {
             throw new IllegalArgumentException("재고가 부족합니다.");
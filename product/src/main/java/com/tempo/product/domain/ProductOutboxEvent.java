@@ -0,0 +1,62 @@
+package com.tempo.product.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 상품 이름/가격 변경 outbox (상품 수정과 같은 트랜잭션에서 저장되고, ProductEventPublisher 가 product:events 로 발행)
+// 발행에 성공하면 publishedAt 을 채운다. 실패하면 그대로 남아 다음 주기에 다시 발행된다.
+@Entity
+@Table(name = "product_outbox",
+        indexes = @Index(name = "idx_product_outbox_published_at_id", columnList = "published_at, id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductOutboxEvent {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    public ProductOutboxEvent(Long productId, String name, BigDecimal price) {
+        this.productId = productId;
+        this.name = name;
+        this.price = price;
+        this.changedAt = LocalDateTime.now();
+    }
+
+    public void markPublished() {
+        this.publishedAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    public void markFailed(String error) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -0,0 +1,8 @@
+package com.tempo.product.domain;
+
+public enum ReservationStatus {
+    RESERVED,   // 재고 차감 후 주문 결제 대기
+    CONFIRMED,  // 결제 완료로 확정
+    RELEASED,   // 만료 또는 취소로 재고 복구
+    CANCELLED   // 확정 후 결제 취소로 재고 복구
+}
@@ -0,0 +1,37 @@
+package com.tempo.product.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 재고 예약 원장(StockReservationLedger)의 차감/반환 기록 (양수 = 차감, 음수 = 반환)
+// 예약과 같은 트랜잭션에서 추가만 하므로 인기 상품에서도 행 잠금 경합이 없고, 원장이 모아서 products.stock 에 반영한 뒤 지운다.
+// 아직 남아 있는 기록의 합이 DB 재고에 반영되지 않은 차감량이다.
+@Entity
+@Table(name = "stock_ledger_entries",
+        indexes = @Index(name = "idx_stock_ledger_entries_product_id", columnList = "product_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false, updatable = false)
+    private Long productId;
+
+    @Column(nullable = false, updatable = false)
+    private Integer delta;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public StockLedgerEntry(Long productId, Integer delta) {
+        this.productId = productId;
+        this.delta = delta;
+        this.createdAt = LocalDateTime.now();
+    }
+}
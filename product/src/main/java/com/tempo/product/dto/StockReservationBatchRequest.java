@@ -0,0 +1,32 @@
+package com.tempo.product.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 여러 상품의 재고를 한 번에 예약하는 요청 (전부 성공하거나 전부 실패)
+@Getter
+@NoArgsConstructor
+public class StockReservationBatchRequest {
+    private List<Item> items;
+
+    @Builder
+    public StockReservationBatchRequest(List<Item> items) {
+        this.items = items;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    public static class Item {
+        private Long productId;
+        private Integer quantity;
+
+        @Builder
+        public Item(Long productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+    }
+}
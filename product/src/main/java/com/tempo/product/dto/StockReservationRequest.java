@@ -0,0 +1,16 @@
+package com.tempo.product.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class StockReservationRequest {
+    private Integer quantity;
+
+    @Builder
+    public StockReservationRequest(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,26 @@
+package com.tempo.product.dto;
+
+import com.tempo.product.domain.ReservationStatus;
+import com.tempo.product.domain.StockReservation;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class StockReservationResponse {
+    private final String reservationId;
+    private final Long productId;
+    private final Integer quantity;
+    private final ReservationStatus status;
+    private final LocalDateTime expiresAt;
+
+    @Builder
+    public StockReservationResponse(StockReservation reservation) {
+        this.reservationId = reservation.getId();
+        this.productId = reservation.getProductId();
+        this.quantity = reservation.getQuantity();
+        this.status = reservation.getStatus();
+        this.expiresAt = reservation.getExpiresAt();
+    }
+}
@@ -0,0 +1,88 @@
+package com.tempo.product.event;
+
+import com.tempo.product.domain.ProductOutboxEvent;
+import com.tempo.product.repository.ProductOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// product_outbox 에 쌓인 상품 변경을 Redis 스트림(product:events)에 발행하는 릴레이
+// - 장바구니 서비스가 컨슈머 그룹으로 읽어 해당 상품이 담긴 장바구니만 갱신한다 (cart_items 행의 가격도 이 이벤트로만 바뀐다)
+// - 변경은 상품 수정과 같은 트랜잭션에서 outbox 에 저장되므로, Redis 장애 중의 변경도 복구 후 빠짐없이 발행된다
+// - 저장 순서대로 발행하고 실패하면 그 뒤는 다음 주기로 미뤄, 같은 상품의 이전 변경이 나중 변경을 덮어쓰지 않게 한다
+// - 발행 후 outbox 갱신 전에 종료되면 같은 변경이 한 번 더 발행될 수 있다 (장바구니 쪽 반영은 같은 값을 다시 써도 안전)
+// - 스트림 길이는 product.events.max-length 정도로 유지한다 (근사 trim)
+@Slf4j
+@Component
+public class ProductEventPublisher {
+    public static final String STREAM_KEY = "product:events";
+
+    private final ProductOutboxRepository outboxRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxLength;
+    private final int batchSize;
+
+    public ProductEventPublisher(ProductOutboxRepository outboxRepository,
+                                 StringRedisTemplate stringRedisTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${product.events.max-length:100000}") long maxLength,
+                                 @Value("${product.events.batch-size:100}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxLength = maxLength;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${product.events.relay-interval-ms:500}")
+    public void relay() {
+        List<ProductOutboxEvent> events = outboxRepository.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<ProductOutboxEvent> processed = new ArrayList<>(events.size());
+        for (ProductOutboxEvent event : events) {
+            try {
+                RecordId recordId = stringRedisTemplate.opsForStream()
+                        .add(toRecord(event), XAddOptions.maxlen(maxLength).approximateTrimming(true));
+                event.markPublished();
+                processed.add(event);
+                log.debug("상품 변경 이벤트 발행 - productId: {}, recordId: {}", event.getProductId(), recordId);
+            } catch (RuntimeException e) {
+                event.markFailed(e.getMessage());
+                processed.add(event);
+                log.error("상품 변경 이벤트 발행 실패 - outboxId: {}, productId: {}, attempts: {}, error: {}",
+                        event.getId(), event.getProductId(), event.getAttempts(), e.getMessage());
+                break;
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(processed));
+
+        long published = processed.stream().filter(event -> event.getPublishedAt() != null).count();
+        log.info("상품 변경 이벤트 발행 완료 - pending: {}, published: {}", events.size(), published);
+    }
+
+    private MapRecord<String, String, String> toRecord(ProductOutboxEvent event) {
+        return StreamRecords.newRecord()
+                .in(STREAM_KEY)
+                .ofMap(Map.of(
+                        "productId", event.getProductId().toString(),
+                        "name", event.getName(),
+                        "price", event.getPrice().toPlainString(),
+                        "changedAt", event.getChangedAt().toString()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.tempo.product.repository;
+
+import com.tempo.product.domain.ProductOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductOutboxRepository extends JpaRepository<ProductOutboxEvent, Long> {
+
+    // 아직 발행하지 않은 변경을 저장 순서대로 조회 (같은 상품의 변경 순서를 지키기 위함)
+    List<ProductOutboxEvent> findByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+}
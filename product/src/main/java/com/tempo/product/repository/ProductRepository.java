@@ -2,8 +2,26 @@ package com.tempo.product.repository;
 
 import com.tempo.product.domain.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
-}
\ No newline at end of file
+
+    // 재고가 충분한 경우에만 단일 UPDATE로 차감 (반영된 행 수 반환: 1 = 성공, 0 = 상품 없음 또는 재고 부족)
+    // 엔티티 기반 수정과 충돌을 감지할 수 있도록 version도 함께 증가시킨다.
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.stock >= :quantity")
+    int decreaseStock(@Param("id") Long id, @Param("quantity") Integer quantity);
+
+    // 재고 예약 원장(StockReservationLedger)에서 모아 둔 순 차감량을 조건 없이 반영 (음수면 재고 증가)
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock - :delta, p.version = p.version + 1 WHERE p.id = :id")
+    int applyStockDelta(@Param("id") Long id, @Param("delta") Integer delta);
+}
@@ -0,0 +1,21 @@
+package com.tempo.product.repository;
+
+import com.tempo.product.domain.StockLedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockLedgerEntryRepository extends JpaRepository<StockLedgerEntry, Long> {
+
+    // 반영할 기록을 오래된 순으로 조회 (원장 반영 배치용)
+    List<StockLedgerEntry> findByOrderByIdAsc(Pageable pageable);
+
+    // 상품의 미반영 차감량 합계 (원장 적재 시 DB 재고에서 뺀다)
+    @Query("SELECT COALESCE(SUM(e.delta), 0) FROM StockLedgerEntry e WHERE e.productId = :productId")
+    long sumDelta(@Param("productId") Long productId);
+}
@@ -0,0 +1,29 @@
+package com.tempo.product.repository;
+
+import com.tempo.product.domain.ReservationStatus;
+import com.tempo.product.domain.StockReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+
+    // 현재 상태가 from 인 경우에만 to 로 전이 (반영된 행 수 반환: 1 = 성공, 0 = 상태 불일치 또는 예약 없음)
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") String id,
+                   @Param("from") ReservationStatus from,
+                   @Param("to") ReservationStatus to);
+
+    // 만료 시각이 지난 예약 조회 (만료 처리 배치용)
+    List<StockReservation> findByStatusAndExpiresAtBefore(ReservationStatus status, LocalDateTime now, Pageable pageable);
+}
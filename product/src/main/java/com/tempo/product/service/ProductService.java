@@ -1,20 +1,42 @@
 package com.tempo.product.service;
 
+import com.tempo.product.config.CacheConfig;
 import com.tempo.product.domain.Product;
+import com.tempo.product.domain.ProductOutboxEvent;
 import com.tempo.product.dto.ProductRequest;
 import com.tempo.product.dto.ProductResponse;
+import com.tempo.product.repository.ProductOutboxRepository;
 import com.tempo.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductService {
+    private static final int MAX_BULK_SIZE = 100;
+
     private final ProductRepository productRepository;
+    private final Optional<StockReservationLedger> stockLedger;
+    private final CacheManager cacheManager;
+    private final ProductOutboxRepository outboxRepository;
 
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_CACHE, key = "#id")
     @Transactional(readOnly = true)
     public ProductResponse getProduct(Long id) {
         log.info("상품 조회 시작 - productId: {}", id);
@@ -27,6 +49,47 @@ public class ProductService {
         return new ProductResponse(product);
     }
 
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getProducts(List<Long> ids) {
+        log.info("상품 일괄 조회 시작 - count: {}", ids.size());
+        if (ids.isEmpty() || ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("한 번에 조회할 수 있는 상품 수는 1~%d개입니다.", MAX_BULK_SIZE));
+        }
+
+        // 캐시에 있는 상품은 바로 사용하고, 나머지만 단일 IN 쿼리로 조회 (없는 상품은 결과에서 제외)
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCT_CACHE);
+        Map<Long, ProductResponse> found = new LinkedHashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            ProductResponse cached = cache != null ? cache.get(id, ProductResponse.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            productRepository.findAllById(misses).forEach(product -> {
+                ProductResponse response = new ProductResponse(product);
+                found.put(product.getId(), response);
+                if (cache != null) {
+                    cache.put(product.getId(), response);
+                }
+            });
+        }
+
+        List<ProductResponse> responses = ids.stream()
+                .distinct()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        log.info("상품 일괄 조회 완료 - requested: {}, found: {}, cacheMisses: {}",
+                ids.size(), responses.size(), misses.size());
+        return responses;
+    }
+
+    @CachePut(cacheNames = CacheConfig.PRODUCT_CACHE, key = "#result.id")
     @Transactional
     public ProductResponse createProduct(ProductRequest request) {
         log.info("상품 생성 시작 - name: {}", request.getName());
@@ -41,22 +104,71 @@ public class ProductService {
         return new ProductResponse(savedProduct);
     }
 
+    // 이름/가격이 바뀌면 같은 트랜잭션에서 outbox 에 변경을 남긴다 (ProductEventPublisher 가 발행해 장바구니를 갱신하게 함).
+    @CachePut(cacheNames = CacheConfig.PRODUCT_CACHE, key = "#id")
+    @Transactional
+    public ProductResponse updateProduct(Long id, ProductRequest request) {
+        log.info("상품 수정 시작 - productId: {}", id);
+        if (request.getName() == null || request.getName().isBlank() || request.getPrice() == null
+                || request.getPrice().signum() < 0) {
+            throw new IllegalArgumentException("상품 이름과 0 이상의 가격은 필수입니다.");
+        }
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("상품을 찾을 수 없음 - productId: {}", id);
+                    return new IllegalArgumentException("상품을 찾을 수 없습니다.");
+                });
+
+        boolean changed = !product.getName().equals(request.getName())
+                || product.getPrice().compareTo(request.getPrice()) != 0;
+        if (changed) {
+            product.updateDetails(request.getName(), request.getPrice());
+            outboxRepository.save(new ProductOutboxEvent(id, request.getName(), request.getPrice()));
+        }
+        log.info("상품 수정 완료 - productId: {}, changed: {}", id, changed);
+        return new ProductResponse(product);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCT_CACHE, key = "#id")
     @Transactional
     public void updateStock(Long id, Integer quantity) {
         log.info("재고 업데이트 시작 - productId: {}, quantity: {}", id, quantity);
+
+        // 예약 원장이 활성화되어 있으면 DB를 거치지 않고 메모리에서 차감 (DB 반영은 원장이 일괄 처리)
+        if (stockLedger.isPresent()) {
+            stockLedger.get().reserve(id, quantity);
+            log.info("재고 업데이트 완료 (ledger) - productId: {}, quantity: {}", id, quantity);
+            return;
+        }
+
+        // 엔티티를 읽지 않고 조건부 UPDATE 한 번으로 차감하여 낙관적 락 충돌을 피한다.
+        if (productRepository.decreaseStock(id, quantity) == 1) {
+            log.info("재고 업데이트 완료 - productId: {}, quantity: {}", id, quantity);
+            return;
+        }
+
+        // 반영된 행이 없으면 상품이 없거나 재고가 부족한 경우
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("상품을 찾을 수 없음 - productId: {}", id);
                     return new IllegalArgumentException("상품을 찾을 수 없습니다.");
                 });
+        log.error("재고 부족 발생 - productId: {}, requestedQuantity: {}, currentStock: {}",
+                id, quantity, product.getStock());
+        throw new IllegalArgumentException("재고가 부족합니다.");
+    }
 
-        try {
-            product.updateStock(quantity);
-            log.info("재고 업데이트 완료 - productId: {}, updatedStock: {}", id, product.getStock());
-        } catch (IllegalArgumentException e) {
-            log.error("재고 부족 발생 - productId: {}, requestedQuantity: {}, currentStock: {}",
-                    id, quantity, product.getStock());
-            throw e;
+    // 예약 해제 등으로 차감했던 재고를 되돌린다.
+    @CacheEvict(cacheNames = CacheConfig.PRODUCT_CACHE, key = "#id")
+    @Transactional
+    public void restoreStock(Long id, Integer quantity) {
+        log.info("재고 복구 시작 - productId: {}, quantity: {}", id, quantity);
+        if (stockLedger.isPresent()) {
+            stockLedger.get().release(id, quantity);
+        } else if (productRepository.applyStockDelta(id, -quantity) == 0) {
+            log.error("상품을 찾을 수 없음 - productId: {}", id);
+            throw new IllegalArgumentException("상품을 찾을 수 없습니다.");
         }
+        log.info("재고 복구 완료 - productId: {}, quantity: {}", id, quantity);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,252 @@
+package com.tempo.product.service;
+
+import com.tempo.product.config.CacheConfig;
+import com.tempo.product.domain.StockLedgerEntry;
+import com.tempo.product.repository.ProductRepository;
+import com.tempo.product.repository.StockLedgerEntryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+// 인기 상품 재고를 DB 행 대신 메모리의 분할(striped) 카운터에서 차감하는 예약 원장
+// - 차감/반환은 호출한 쪽 트랜잭션(예약 저장과 같은 트랜잭션)에서 stock_ledger_entries 에 한 줄씩 추가한다.
+//   행 추가만 하므로 products 행 잠금 경합이 없고, 예약이 커밋되면 그 차감량도 함께 커밋되어 있다.
+//   트랜잭션이 롤백되면 메모리에서 차감한 몫도 되돌린다. 반환(release)은 커밋된 뒤에야 메모리에 더한다.
+// - 주기적으로 기록을 모아 한 트랜잭션에서 products.stock 에 반영하고 반영한 기록을 지운다 (실패하면 기록이 남아 다음 주기에 재시도).
+// - 상품별 카운터는 처음 사용될 때 DB 재고 - 아직 반영되지 않은 기록의 합으로 채운다.
+//   두 값은 반영(flush)과 같은 잠금 안에서 읽어 반영 도중의 중간 상태를 보지 않는다.
+//   그래서 반영 전에 종료되어도 재시작 후 커밋된 예약만큼 정확히 빠진 재고에서 시작한다 (유실 구간 없음).
+// - 재고는 이 원장(ProductService.updateStock/restoreStock)으로만 바뀐다고 가정한다.
+//   DB 를 직접 고치거나 여러 인스턴스에서 원장을 켜면 메모리 값이 DB 와 어긋나므로 인스턴스 하나에서만 사용한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "product.stock.ledger.enabled", havingValue = "true")
+public class StockReservationLedger {
+    private final ProductRepository productRepository;
+    private final StockLedgerEntryRepository entryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final int stripes;
+    private final int flushBatchSize;
+    private final ConcurrentMap<Long, StripedStock> ledger = new ConcurrentHashMap<>();
+    // 잠근 채로 DB 를 기다리므로 가상 스레드가 캐리어에 고정되지 않도록 synchronized 대신 ReentrantLock 을 쓴다
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public StockReservationLedger(ProductRepository productRepository,
+                                  StockLedgerEntryRepository entryRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  CacheManager cacheManager,
+                                  @Value("${product.stock.ledger.stripes:8}") int stripes,
+                                  @Value("${product.stock.ledger.flush-batch-size:1000}") int flushBatchSize) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("product.stock.ledger.stripes는 0보다 커야 합니다.");
+        }
+        if (flushBatchSize <= 0) {
+            throw new IllegalArgumentException("product.stock.ledger.flush-batch-size는 0보다 커야 합니다.");
+        }
+        this.productRepository = productRepository;
+        this.entryRepository = entryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheManager = cacheManager;
+        this.stripes = stripes;
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    public void reserve(Long productId, int quantity) {
+        StripedStock stock = stockOf(productId);
+        if (!stock.tryReserve(quantity)) {
+            log.error("재고 부족 발생 (ledger) - productId: {}, requestedQuantity: {}, available: {}",
+                    productId, quantity, stock.available());
+            throw new IllegalArgumentException("재고가 부족합니다.");
+        }
+        entryRepository.save(new StockLedgerEntry(productId, quantity));
+        onRollback(() -> stock.release(quantity));
+    }
+
+    public void release(Long productId, int quantity) {
+        StripedStock stock = stockOf(productId);
+        entryRepository.save(new StockLedgerEntry(productId, -quantity));
+        // 커밋 전에 더하면 롤백될 반환분을 다른 요청이 먼저 예약해 갈 수 있다
+        afterCommit(() -> stock.release(quantity));
+    }
+
+    @Scheduled(fixedDelayString = "${product.stock.ledger.flush-interval-ms:200}")
+    public void flush() {
+        try {
+            Map<Long, Long> deltas;
+            flushLock.lock();
+            try {
+                deltas = transactionTemplate.execute(status -> {
+                    List<StockLedgerEntry> entries = entryRepository.findByOrderByIdAsc(PageRequest.of(0, flushBatchSize));
+                    Map<Long, Long> sums = entries.stream().collect(Collectors.groupingBy(
+                            StockLedgerEntry::getProductId, Collectors.summingLong(StockLedgerEntry::getDelta)));
+                    sums.forEach((productId, delta) -> productRepository.applyStockDelta(productId, Math.toIntExact(delta)));
+                    // 조회한 기록만 지운다 (그 사이 커밋된 기록은 다음 주기에 반영)
+                    entryRepository.deleteAllByIdInBatch(entries.stream().map(StockLedgerEntry::getId).toList());
+                    return sums;
+                });
+            } finally {
+                flushLock.unlock();
+            }
+            if (deltas == null || deltas.isEmpty()) {
+                return;
+            }
+            log.debug("재고 원장 반영 완료 - products: {}", deltas.size());
+
+            // 반영된 상품의 조회 캐시를 비워 다음 조회에서 최신 재고를 읽게 한다.
+            Cache productCache = cacheManager.getCache(CacheConfig.PRODUCT_CACHE);
+            if (productCache != null) {
+                deltas.keySet().forEach(productCache::evict);
+            }
+        } catch (RuntimeException e) {
+            // 트랜잭션이 롤백되어 기록이 그대로 남으므로 다음 주기에 다시 반영한다.
+            log.error("재고 원장 반영 실패", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // DB 조회를 computeIfAbsent 안에서 하면 같은 버킷의 다른 상품까지 막히므로 먼저 읽고 나서 등록한다.
+    // 동시에 처음 사용되어 둘 다 읽었으면 먼저 등록된 쪽을 쓴다.
+    private StripedStock stockOf(Long productId) {
+        StripedStock stock = ledger.get(productId);
+        if (stock != null) {
+            return stock;
+        }
+        StripedStock loaded = load(productId);
+        StripedStock existing = ledger.putIfAbsent(productId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // 커밋된 DB 재고에서 아직 반영되지 않은 기록을 뺀 값으로 시작한다.
+    // 반영이 재고를 올리고 기록을 지우는 사이에 읽으면 같은 차감을 두 번 빼거나 빠뜨리므로 반영과 같은 잠금 안에서 읽는다.
+    private StripedStock load(Long productId) {
+        flushLock.lock();
+        try {
+            int stock = productRepository.findById(productId)
+                    .orElseThrow(() -> {
+                        log.error("상품을 찾을 수 없음 - productId: {}", productId);
+                        return new IllegalArgumentException("상품을 찾을 수 없습니다.");
+                    })
+                    .getStock();
+            return new StripedStock(stripes, stock - entryRepository.sumDelta(productId));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void onRollback(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    undo.run();
+                }
+            }
+        });
+    }
+
+    static final class StripedStock {
+        private final AtomicLong[] available;
+
+        StripedStock(int stripes, long initialStock) {
+            this.available = new AtomicLong[stripes];
+            for (int i = 0; i < stripes; i++) {
+                long share = initialStock / stripes + (i < initialStock % stripes ? 1 : 0);
+                this.available[i] = new AtomicLong(share);
+            }
+        }
+
+        boolean tryReserve(int quantity) {
+            int start = ThreadLocalRandom.current().nextInt(available.length);
+
+            // 1. 하나의 stripe에서 전량 차감 (대부분의 경우)
+            for (int i = 0; i < available.length; i++) {
+                int index = (start + i) % available.length;
+                if (takeUpTo(available[index], quantity, true) == quantity) {
+                    return true;
+                }
+            }
+
+            // 2. 단일 stripe로 부족하면 여러 stripe에서 나누어 차감하고, 그래도 부족하면 되돌린다.
+            long[] taken = new long[available.length];
+            long remaining = quantity;
+            for (int i = 0; i < available.length && remaining > 0; i++) {
+                int index = (start + i) % available.length;
+                taken[index] = takeUpTo(available[index], remaining, false);
+                remaining -= taken[index];
+            }
+            if (remaining > 0) {
+                for (int i = 0; i < available.length; i++) {
+                    if (taken[i] != 0) {
+                        available[i].addAndGet(taken[i]);
+                    }
+                }
+            }
+            return remaining == 0;
+        }
+
+        void release(int quantity) {
+            int index = ThreadLocalRandom.current().nextInt(available.length);
+            available[index].addAndGet(quantity);
+        }
+
+        long available() {
+            long total = 0;
+            for (AtomicLong counter : available) {
+                total += counter.get();
+            }
+            return total;
+        }
+
+        private static long takeUpTo(AtomicLong counter, long quantity, boolean allOrNothing) {
+            while (true) {
+                long current = counter.get();
+                if (current <= 0 || (allOrNothing && current < quantity)) {
+                    return 0;
+                }
+                long take = Math.min(current, quantity);
+                if (counter.compareAndSet(current, current - take)) {
+                    return take;
+                }
+            }
+        }
+    }
+}
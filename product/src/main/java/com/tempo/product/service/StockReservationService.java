@@ -0,0 +1,198 @@
+package com.tempo.product.service;
+
+import com.tempo.product.domain.ReservationStatus;
+import com.tempo.product.domain.StockReservation;
+import com.tempo.product.dto.StockReservationBatchRequest;
+import com.tempo.product.dto.StockReservationResponse;
+import com.tempo.product.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationService {
+    private static final int EXPIRY_BATCH_SIZE = 100;
+    private static final int MAX_BATCH_ITEMS = 200;
+
+    private final StockReservationRepository reservationRepository;
+    private final ProductService productService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${product.reservation.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    // 재고 확인과 차감을 한 번에 처리하고 예약 ID를 발급한다.
+    @Transactional
+    public StockReservationResponse reserve(Long productId, Integer quantity) {
+        log.info("재고 예약 시작 - productId: {}, quantity: {}", productId, quantity);
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("예약 수량은 0보다 커야 합니다.");
+        }
+
+        StockReservation reservation = reservationRepository.save(StockReservation.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .expiresAt(LocalDateTime.now().plusMinutes(ttlMinutes))
+                .build());
+
+        // 재고 부족이나 상품 없음이면 예외가 발생하여 예약 저장도 함께 롤백된다.
+        productService.updateStock(productId, quantity);
+
+        log.info("재고 예약 완료 - reservationId: {}, productId: {}, quantity: {}",
+                reservation.getId(), productId, quantity);
+        return new StockReservationResponse(reservation);
+    }
+
+    // 여러 상품을 한 트랜잭션에서 예약 (주문 한 건의 모든 줄). 한 줄이라도 실패하면 전체를 되돌린다.
+    // 응답은 요청 순서대로 줄마다 예약 하나씩.
+    @Transactional
+    public List<StockReservationResponse> reserveAll(List<StockReservationBatchRequest.Item> items) {
+        log.info("재고 일괄 예약 시작 - count: {}", items == null ? 0 : items.size());
+        validateBatch(items);
+
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(ttlMinutes);
+        List<StockReservation> reservations = reservationRepository.saveAll(items.stream()
+                .map(item -> StockReservation.builder()
+                        .productId(item.getProductId())
+                        .quantity(item.getQuantity())
+                        .expiresAt(expiresAt)
+                        .build())
+                .collect(Collectors.toList()));
+
+        // 동시에 들어온 일괄 예약끼리 행 잠금 순서가 엇갈리지 않도록 상품 ID 순으로 차감한다.
+        List<StockReservation> ordered = new ArrayList<>(reservations);
+        ordered.sort(Comparator.comparing(StockReservation::getProductId));
+        // 한 줄이라도 실패하면 트랜잭션 롤백으로 앞서 차감한 줄도 되돌아간다 (예약 원장의 메모리 차감분은 원장이 롤백 시 복구).
+        for (StockReservation reservation : ordered) {
+            productService.updateStock(reservation.getProductId(), reservation.getQuantity());
+        }
+
+        log.info("재고 일괄 예약 완료 - count: {}", reservations.size());
+        return reservations.stream()
+                .map(StockReservationResponse::new)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public List<StockReservationResponse> confirmAll(List<String> reservationIds) {
+        log.info("재고 예약 일괄 확정 시작 - count: {}", reservationIds.size());
+        return reservationIds.stream()
+                .map(this::confirm)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public void releaseAll(List<String> reservationIds) {
+        log.info("재고 예약 일괄 해제 시작 - count: {}", reservationIds.size());
+        reservationIds.forEach(this::release);
+    }
+
+    // 결제 취소된 주문의 예약을 되돌린다. 확정된 예약은 재고를 복구하고, 확정 전 예약은 해제와 같다.
+    // 이미 되돌린 예약은 건너뛰므로 같은 취소가 다시 와도 재고가 두 번 늘지 않는다.
+    @Transactional
+    public void cancelAll(List<String> reservationIds) {
+        log.info("재고 예약 일괄 취소 시작 - count: {}", reservationIds.size());
+        reservationIds.forEach(this::cancel);
+    }
+
+    @Transactional
+    public StockReservationResponse confirm(String reservationId) {
+        log.info("재고 예약 확정 시작 - reservationId: {}", reservationId);
+        if (reservationRepository.transition(reservationId, ReservationStatus.RESERVED, ReservationStatus.CONFIRMED) == 0) {
+            StockReservation reservation = findReservation(reservationId);
+            if (reservation.getStatus() != ReservationStatus.CONFIRMED) {
+                log.error("확정할 수 없는 예약 - reservationId: {}, status: {}", reservationId, reservation.getStatus());
+                throw new IllegalStateException("이미 만료되었거나 해제된 예약입니다.");
+            }
+        }
+        log.info("재고 예약 확정 완료 - reservationId: {}", reservationId);
+        return new StockReservationResponse(findReservation(reservationId));
+    }
+
+    @Transactional
+    public void release(String reservationId) {
+        log.info("재고 예약 해제 시작 - reservationId: {}", reservationId);
+        StockReservation reservation = findReservation(reservationId);
+        if (reservation.getStatus() == ReservationStatus.CONFIRMED) {
+            throw new IllegalStateException("이미 확정된 예약은 해제할 수 없습니다.");
+        }
+        releaseIfReserved(reservation);
+    }
+
+    // 결제되지 않은 채 만료된 예약의 재고를 복구 (예약 하나당 트랜잭션 하나)
+    @Scheduled(fixedDelayString = "${product.reservation.expiry-check-interval-ms:60000}")
+    public void releaseExpiredReservations() {
+        List<StockReservation> expired = reservationRepository.findByStatusAndExpiresAtBefore(
+                ReservationStatus.RESERVED, LocalDateTime.now(), PageRequest.of(0, EXPIRY_BATCH_SIZE));
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        log.info("만료된 재고 예약 해제 시작 - count: {}", expired.size());
+        for (StockReservation reservation : expired) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> releaseIfReserved(reservation));
+            } catch (RuntimeException e) {
+                log.error("만료된 재고 예약 해제 실패 - reservationId: {}", reservation.getId(), e);
+            }
+        }
+    }
+
+    private void cancel(String reservationId) {
+        StockReservation reservation = findReservation(reservationId);
+        if (reservationRepository.transition(reservationId, ReservationStatus.CONFIRMED, ReservationStatus.CANCELLED) == 1) {
+            productService.restoreStock(reservation.getProductId(), reservation.getQuantity());
+            log.info("확정 예약 취소 완료 - reservationId: {}, productId: {}, quantity: {}",
+                    reservationId, reservation.getProductId(), reservation.getQuantity());
+            return;
+        }
+        releaseIfReserved(reservation);
+    }
+
+    private void releaseIfReserved(StockReservation reservation) {
+        // 상태 전이에 성공한 쪽만 재고를 복구하므로 확정/중복 해제와 경합해도 재고가 두 번 복구되지 않는다.
+        if (reservationRepository.transition(reservation.getId(), ReservationStatus.RESERVED, ReservationStatus.RELEASED) == 1) {
+            productService.restoreStock(reservation.getProductId(), reservation.getQuantity());
+            log.info("재고 예약 해제 완료 - reservationId: {}, productId: {}, quantity: {}",
+                    reservation.getId(), reservation.getProductId(), reservation.getQuantity());
+        }
+    }
+
+    private void validateBatch(List<StockReservationBatchRequest.Item> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("예약할 상품이 없습니다.");
+        }
+        if (items.size() > MAX_BATCH_ITEMS) {
+            throw new IllegalArgumentException("한 번에 예약할 수 있는 상품은 최대 " + MAX_BATCH_ITEMS + "개입니다.");
+        }
+        for (StockReservationBatchRequest.Item item : items) {
+            if (item.getProductId() == null) {
+                throw new IllegalArgumentException("상품 ID는 필수입니다.");
+            }
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("예약 수량은 0보다 커야 합니다.");
+            }
+        }
+    }
+
+    private StockReservation findReservation(String reservationId) {
+        return reservationRepository.findById(reservationId)
+                .orElseThrow(() -> {
+                    log.error("예약을 찾을 수 없음 - reservationId: {}", reservationId);
+                    return new IllegalArgumentException("예약을 찾을 수 없습니다.");
+                });
+    }
+}
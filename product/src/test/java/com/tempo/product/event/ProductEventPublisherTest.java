@@ -0,0 +1,83 @@
+package com.tempo.product.event;
+
+import com.tempo.product.domain.ProductOutboxEvent;
+import com.tempo.product.repository.ProductOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// outbox 릴레이가 저장 순서대로 발행하고, 실패하면 그 뒤를 다음 주기로 미루는지 확인한다.
+class ProductEventPublisherTest {
+
+    private ProductOutboxRepository outboxRepository;
+    private StreamOperations<String, Object, Object> streamOperations;
+    private ProductEventPublisher publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxRepository = mock(ProductOutboxRepository.class);
+        streamOperations = mock(StreamOperations.class);
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        when(stringRedisTemplate.opsForStream()).thenReturn(streamOperations);
+
+        publisher = new ProductEventPublisher(outboxRepository, stringRedisTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 1000, 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stopsAtFirstFailureAndRetriesItNextTime() {
+        ProductOutboxEvent first = new ProductOutboxEvent(1L, "A", new BigDecimal("1000"));
+        ProductOutboxEvent second = new ProductOutboxEvent(1L, "A", new BigDecimal("2000"));
+        ProductOutboxEvent third = new ProductOutboxEvent(1L, "A", new BigDecimal("3000"));
+        when(outboxRepository.findByPublishedAtIsNullOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(first, second, third))
+                .thenReturn(List.of(second, third));
+        when(streamOperations.add(any(MapRecord.class), any(XAddOptions.class)))
+                .thenReturn(RecordId.of("1-0"))
+                .thenThrow(new IllegalStateException("Redis 연결 실패"))
+                .thenReturn(RecordId.of("2-0"))
+                .thenReturn(RecordId.of("3-0"));
+
+        publisher.relay();
+
+        // 두 번째에서 실패하면 세 번째는 시도하지 않는다 (이전 가격이 나중 가격을 덮어쓰지 않도록)
+        assertThat(first.getPublishedAt()).isNotNull();
+        assertThat(second.getPublishedAt()).isNull();
+        assertThat(second.getAttempts()).isEqualTo(1);
+        assertThat(second.getLastError()).isEqualTo("Redis 연결 실패");
+        assertThat(third.getPublishedAt()).isNull();
+        assertThat(third.getAttempts()).isZero();
+
+        publisher.relay();
+
+        assertThat(second.getPublishedAt()).isNotNull();
+        assertThat(second.getLastError()).isNull();
+        assertThat(third.getPublishedAt()).isNotNull();
+
+        ArgumentCaptor<MapRecord<String, String, String>> records = ArgumentCaptor.forClass(MapRecord.class);
+        verify(streamOperations, times(4)).add(records.capture(), any(XAddOptions.class));
+        assertThat(records.getAllValues())
+                .extracting(record -> record.getValue().get("price"))
+                .containsExactly("1000", "2000", "2000", "3000");
+    }
+}
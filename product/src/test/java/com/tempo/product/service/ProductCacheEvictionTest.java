@@ -0,0 +1,57 @@
+package com.tempo.product.service;
+
+import com.tempo.product.config.CacheConfig;
+import com.tempo.product.dto.ProductRequest;
+import com.tempo.product.dto.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 바깥 트랜잭션 안에서 재고를 바꿔도 캐시 무효화는 커밋 뒤에 일어나는지 확인한다.
+// 커밋 전에 무효화되면 그 사이의 조회가 이전 재고를 다시 캐시해 TTL 동안 남는다.
+@SpringBootTest
+class ProductCacheEvictionTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void stockChangeInOuterTransactionEvictsAfterCommit() {
+        ProductResponse product = productService.createProduct(ProductRequest.builder()
+                .name("cache-evict")
+                .price(BigDecimal.valueOf(1000))
+                .stock(10)
+                .build());
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCT_CACHE);
+        cache.evict(product.getId());
+        assertThat(productService.getProduct(product.getId()).getStock()).isEqualTo(10);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.updateStock(product.getId(), 3);
+            // 아직 커밋 전: 캐시는 그대로이고, 다른 스레드의 조회는 커밋된 이전 재고를 본다
+            assertThat(cache.get(product.getId())).isNotNull();
+            ProductResponse concurrentRead = CompletableFuture
+                    .supplyAsync(() -> productService.getProduct(product.getId()))
+                    .join();
+            assertThat(concurrentRead.getStock()).isEqualTo(10);
+        });
+
+        // 커밋 뒤에 무효화되므로 그 사이에 다시 캐시된 이전 재고도 남지 않는다
+        assertThat(cache.get(product.getId())).isNull();
+        assertThat(productService.getProduct(product.getId()).getStock()).isEqualTo(7);
+    }
+}
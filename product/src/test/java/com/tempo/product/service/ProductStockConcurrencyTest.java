@@ -0,0 +1,72 @@
+package com.tempo.product.service;
+
+import com.tempo.product.dto.ProductRequest;
+import com.tempo.product.dto.ProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+class ProductStockConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int DECREMENTS_PER_THREAD = 50;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void concurrentDecrementsOnSingleProductNeverOversell() throws InterruptedException {
+        int initialStock = THREADS * DECREMENTS_PER_THREAD / 2;
+        ProductResponse product = productService.createProduct(ProductRequest.builder()
+                .name("flash-sale")
+                .price(BigDecimal.valueOf(1000))
+                .stock(initialStock)
+                .build());
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < THREADS; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < DECREMENTS_PER_THREAD; j++) {
+                    try {
+                        productService.updateStock(product.getId(), 1);
+                        succeeded.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        log.info("재고 차감 동시성 측정 - threads: {}, attempts: {}, succeeded: {}, elapsedMs: {}, throughput: {}/s",
+                THREADS, THREADS * DECREMENTS_PER_THREAD, succeeded.get(), elapsedMillis,
+                succeeded.get() * 1000L / elapsedMillis);
+
+        assertThat(succeeded.get()).isEqualTo(initialStock);
+        assertThat(rejected.get()).isEqualTo(THREADS * DECREMENTS_PER_THREAD - initialStock);
+        assertThat(productService.getProduct(product.getId()).getStock()).isZero();
+    }
+}
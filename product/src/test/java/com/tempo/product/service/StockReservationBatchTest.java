@@ -0,0 +1,95 @@
+package com.tempo.product.service;
+
+import com.tempo.product.dto.ProductRequest;
+import com.tempo.product.dto.ProductResponse;
+import com.tempo.product.dto.StockReservationBatchRequest;
+import com.tempo.product.dto.StockReservationResponse;
+import com.tempo.product.repository.ProductRepository;
+import com.tempo.product.repository.StockReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class StockReservationBatchTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Test
+    void reserveAllIsAllOrNothing() {
+        ProductResponse plenty = createProduct("batch-plenty", 5);
+        ProductResponse scarce = createProduct("batch-scarce", 1);
+        long reservationsBefore = reservationRepository.count();
+
+        // 두 번째 줄이 재고 부족이면 첫 번째 줄의 차감과 예약 저장도 모두 되돌아간다
+        assertThatThrownBy(() -> reservationService.reserveAll(List.of(item(plenty, 2), item(scarce, 3))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(stockOf(plenty)).isEqualTo(5);
+        assertThat(stockOf(scarce)).isEqualTo(1);
+        assertThat(reservationRepository.count()).isEqualTo(reservationsBefore);
+
+        List<StockReservationResponse> reservations =
+                reservationService.reserveAll(List.of(item(scarce, 1), item(plenty, 2)));
+        assertThat(reservations).extracting(StockReservationResponse::getProductId)
+                .containsExactly(scarce.getId(), plenty.getId());
+        assertThat(stockOf(plenty)).isEqualTo(3);
+        assertThat(stockOf(scarce)).isZero();
+
+        reservationService.releaseAll(reservations.stream().map(StockReservationResponse::getReservationId).toList());
+        assertThat(stockOf(plenty)).isEqualTo(5);
+        assertThat(stockOf(scarce)).isEqualTo(1);
+    }
+
+    @Test
+    void cancelAllRestoresConfirmedStockOnce() {
+        ProductResponse product = createProduct("batch-cancel", 5);
+        List<String> reservationIds = reservationService.reserveAll(List.of(item(product, 2), item(product, 1))).stream()
+                .map(StockReservationResponse::getReservationId)
+                .toList();
+        reservationService.confirm(reservationIds.get(0));
+        assertThat(stockOf(product)).isEqualTo(2);
+
+        // 확정된 예약은 취소로 복구되고, 확정 전 예약은 해제와 같이 복구된다
+        reservationService.cancelAll(reservationIds);
+        assertThat(stockOf(product)).isEqualTo(5);
+
+        // 같은 취소가 다시 와도 재고는 한 번만 복구된다
+        reservationService.cancelAll(reservationIds);
+        assertThat(stockOf(product)).isEqualTo(5);
+    }
+
+    private ProductResponse createProduct(String name, int stock) {
+        return productService.createProduct(ProductRequest.builder()
+                .name(name)
+                .price(BigDecimal.valueOf(1000))
+                .stock(stock)
+                .build());
+    }
+
+    private StockReservationBatchRequest.Item item(ProductResponse product, int quantity) {
+        return StockReservationBatchRequest.Item.builder()
+                .productId(product.getId())
+                .quantity(quantity)
+                .build();
+    }
+
+    private int stockOf(ProductResponse product) {
+        return productRepository.findById(product.getId()).orElseThrow().getStock();
+    }
+}
@@ -0,0 +1,106 @@
+package com.tempo.product.service;
+
+import com.tempo.product.dto.ProductRequest;
+import com.tempo.product.dto.ProductResponse;
+import com.tempo.product.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ProductStockConcurrencyTest 와 같은 부하(한 상품에 스레드 64개)로 JPA 조건부 UPDATE 경로와 원장 경로의 처리량을 비교한다.
+// 두 경로 모두 재고만큼만 성공하고 반영 후 DB 재고가 0 이 되는지 확인하고, 처리량은 로그로만 남긴다.
+@Slf4j
+@SpringBootTest(properties = {
+        "product.stock.ledger.enabled=true",
+        "product.stock.ledger.flush-interval-ms=3600000",
+        "product.stock.ledger.flush-batch-size=10000"
+})
+class StockReservationLedgerBenchmarkTest {
+
+    private static final int THREADS = 64;
+    private static final int DECREMENTS_PER_THREAD = 50;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockReservationLedger stockLedger;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void ledgerAndJpaPathsNeverOversellUnderSameLoad() throws InterruptedException {
+        // 원장이 없을 때 ProductService.updateStock 이 하는 것과 같은 조건부 UPDATE
+        long jpaThroughput = measure("jpa", productId -> {
+            Integer updated = transactionTemplate.execute(status -> productRepository.decreaseStock(productId, 1));
+            if (updated == null || updated == 0) {
+                throw new IllegalArgumentException("재고가 부족합니다.");
+            }
+        });
+        long ledgerThroughput = measure("ledger", productId -> productService.updateStock(productId, 1));
+
+        log.info("재고 차감 경로 비교 - jpa: {}/s, ledger: {}/s", jpaThroughput, ledgerThroughput);
+    }
+
+    private long measure(String path, LongConsumer decrement) throws InterruptedException {
+        int initialStock = THREADS * DECREMENTS_PER_THREAD / 2;
+        ProductResponse product = productService.createProduct(ProductRequest.builder()
+                .name("flash-sale-" + path)
+                .price(BigDecimal.valueOf(1000))
+                .stock(initialStock)
+                .build());
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < THREADS; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < DECREMENTS_PER_THREAD; j++) {
+                    try {
+                        decrement.accept(product.getId());
+                        succeeded.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        long throughput = succeeded.get() * 1000L / elapsedMillis;
+
+        log.info("재고 차감 동시성 측정 - path: {}, threads: {}, attempts: {}, succeeded: {}, elapsedMs: {}, throughput: {}/s",
+                path, THREADS, THREADS * DECREMENTS_PER_THREAD, succeeded.get(), elapsedMillis, throughput);
+
+        stockLedger.flush();
+
+        assertThat(succeeded.get()).isEqualTo(initialStock);
+        assertThat(rejected.get()).isEqualTo(THREADS * DECREMENTS_PER_THREAD - initialStock);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isZero();
+        return throughput;
+    }
+}
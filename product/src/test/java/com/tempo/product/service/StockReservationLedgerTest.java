@@ -0,0 +1,155 @@
+package com.tempo.product.service;
+
+import com.tempo.product.dto.ProductRequest;
+import com.tempo.product.dto.ProductResponse;
+import com.tempo.product.repository.ProductRepository;
+import com.tempo.product.repository.StockLedgerEntryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+
+// 원장 반영(flush), 반영 실패 후 재시도, 롤백 시 메모리 복구, 재시작 후 대사, 여러 stripe 에 걸친 차감을 확인한다.
+// 주기 반영은 막고 flush() 를 직접 호출한다.
+@SpringBootTest(properties = {
+        "product.stock.ledger.enabled=true",
+        "product.stock.ledger.flush-interval-ms=3600000"
+})
+class StockReservationLedgerTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockReservationLedger stockLedger;
+
+    @Autowired
+    private StockLedgerEntryRepository entryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoSpyBean
+    private ProductRepository productRepository;
+
+    @Test
+    void flushAppliesCommittedEntriesToDatabase() {
+        ProductResponse product = createProduct("ledger-flush", 10);
+        productService.updateStock(product.getId(), 3);
+        productService.restoreStock(product.getId(), 1);
+
+        // 반영 전: DB 재고는 그대로이고 차감 기록만 남아 있다
+        assertThat(stockInDb(product)).isEqualTo(10);
+        assertThat(entryRepository.sumDelta(product.getId())).isEqualTo(2);
+
+        stockLedger.flush();
+
+        assertThat(stockInDb(product)).isEqualTo(8);
+        assertThat(entryRepository.sumDelta(product.getId())).isZero();
+    }
+
+    @Test
+    void failedFlushKeepsEntriesForNextFlush() {
+        ProductResponse product = createProduct("ledger-flush-failure", 10);
+        productService.updateStock(product.getId(), 4);
+        doThrow(new IllegalStateException("DB 장애"))
+                .doCallRealMethod()
+                .when(productRepository).applyStockDelta(eq(product.getId()), anyInt());
+
+        stockLedger.flush();
+        assertThat(stockInDb(product)).isEqualTo(10);
+        assertThat(entryRepository.sumDelta(product.getId())).isEqualTo(4);
+
+        stockLedger.flush();
+        assertThat(stockInDb(product)).isEqualTo(6);
+        assertThat(entryRepository.sumDelta(product.getId())).isZero();
+    }
+
+    @Test
+    void rolledBackReservationIsReturnedToLedger() {
+        ProductResponse product = createProduct("ledger-rollback", 5);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            productService.updateStock(product.getId(), 5);
+            throw new IllegalStateException("예약 저장 실패");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // 기록은 롤백되고 메모리 차감분도 돌아왔으므로 전량을 다시 예약할 수 있다
+        assertThat(entryRepository.sumDelta(product.getId())).isZero();
+        productService.updateStock(product.getId(), 5);
+        assertThatThrownBy(() -> productService.updateStock(product.getId(), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rolledBackReleaseIsNotAddedToLedger() {
+        ProductResponse product = createProduct("ledger-release-rollback", 5);
+        productService.updateStock(product.getId(), 5);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            productService.restoreStock(product.getId(), 5);
+            throw new IllegalStateException("예약 취소 저장 실패");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // 반환이 커밋되지 않았으므로 메모리 재고도 그대로 0 이다
+        assertThat(entryRepository.sumDelta(product.getId())).isEqualTo(5);
+        assertThatThrownBy(() -> productService.updateStock(product.getId(), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void restartedLedgerStartsFromDatabaseMinusUnflushedEntries() {
+        ProductResponse product = createProduct("ledger-restart", 10);
+        productService.updateStock(product.getId(), 4);
+
+        // 반영 전에 종료된 뒤 새로 뜬 원장: DB 재고(10) 에서 미반영 차감(4) 을 뺀 6 에서 시작해야 한다
+        StockReservationLedger restarted = new StockReservationLedger(
+                productRepository, entryRepository, transactionTemplate, cacheManager, 8, 1000);
+        transactionTemplate.executeWithoutResult(status -> restarted.reserve(product.getId(), 6));
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> restarted.reserve(product.getId(), 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void reservationSpanningStripesIsAllOrNothing() {
+        // stripe 별 3, 3, 2, 2
+        StockReservationLedger.StripedStock stock = new StockReservationLedger.StripedStock(4, 10);
+
+        // 어느 stripe 하나로도 부족하면 여러 stripe 에서 나누어 차감한다
+        assertThat(stock.tryReserve(7)).isTrue();
+        assertThat(stock.available()).isEqualTo(3);
+
+        // 나누어도 부족하면 일부 차감한 몫을 되돌린다
+        assertThat(stock.tryReserve(4)).isFalse();
+        assertThat(stock.available()).isEqualTo(3);
+
+        assertThat(stock.tryReserve(3)).isTrue();
+        assertThat(stock.available()).isZero();
+    }
+
+    private ProductResponse createProduct(String name, int stock) {
+        return productService.createProduct(ProductRequest.builder()
+                .name(name)
+                .price(BigDecimal.valueOf(1000))
+                .stock(stock)
+                .build());
+    }
+
+    private int stockInDb(ProductResponse product) {
+        return productRepository.findById(product.getId()).orElseThrow().getStock();
+    }
+}
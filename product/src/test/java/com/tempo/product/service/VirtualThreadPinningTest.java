@@ -0,0 +1,97 @@
+package com.tempo.product.service;
+
+import com.tempo.product.dto.ProductRequest;
+import com.tempo.product.dto.ProductResponse;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 가상 스레드 모드에서 우리 코드가 잠금을 쥔 채 DB 를 기다리며 캐리어 스레드를 고정(pinning)시키지 않는지 JFR 로 확인한다.
+// 원장은 처음 쓰이는 상품을 읽을 때와 반영할 때 잠금 안에서 DB 를 읽고 쓰므로, 둘을 가상 스레드에서 동시에 실행한다.
+// 라이브러리 내부의 고정은 대상이 아니므로 com.tempo 프레임이 있는 이벤트만 본다.
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "product.stock.ledger.enabled=true",
+        "product.stock.ledger.flush-interval-ms=3600000"
+})
+class VirtualThreadPinningTest {
+
+    private static final int PRODUCTS = 50;
+    private static final int RESERVATIONS_PER_PRODUCT = 20;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockReservationLedger stockLedger;
+
+    @Test
+    void ledgerDoesNotPinCarrierThreads() throws Exception {
+        List<Long> productIds = IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> createProduct("pinning-" + i).getId())
+                .toList();
+
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                if (isOurs(event)) {
+                    pinned.add(event);
+                }
+            });
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (Long productId : productIds) {
+                    for (int i = 0; i < RESERVATIONS_PER_PRODUCT; i++) {
+                        futures.add(executor.submit(() -> productService.updateStock(productId, 1)));
+                    }
+                    futures.add(executor.submit(stockLedger::flush));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            recording.stop();
+        }
+
+        pinned.forEach(event -> log.error("가상 스레드 고정 감지 - duration: {}, stackTrace: {}",
+                event.getDuration(), event.getStackTrace()));
+        assertThat(pinned).isEmpty();
+    }
+
+    private static boolean isOurs(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return false;
+        }
+        return event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .anyMatch(method -> method.getType().getName().startsWith("com.tempo."));
+    }
+
+    private ProductResponse createProduct(String name) {
+        return productService.createProduct(ProductRequest.builder()
+                .name(name)
+                .price(BigDecimal.valueOf(1000))
+                .stock(RESERVATIONS_PER_PRODUCT)
+                .build());
+    }
+}
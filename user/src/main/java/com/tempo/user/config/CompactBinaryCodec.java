@@ -0,0 +1,86 @@
+package com.tempo.user.config;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+// Redis 값용 바이너리 인코딩 도우미: [형식 버전 1byte] 뒤에 문자열을 [길이+1 varint][UTF-8] 로 이어 붙인다 (길이 0 은 null)
+final class CompactBinaryCodec {
+    static final byte FORMAT_VERSION = 1;
+
+    private CompactBinaryCodec() {
+    }
+
+    static final class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+
+        Writer() {
+            out.write(FORMAT_VERSION);
+        }
+
+        Writer writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return this;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            out.write(bytes, 0, bytes.length);
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+
+        private void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+    }
+
+    static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            if (bytes[0] != FORMAT_VERSION) {
+                throw new SerializationException("지원하지 않는 Redis 값 형식입니다: " + bytes[0]);
+            }
+            this.bytes = bytes;
+            this.position = 1;
+        }
+
+        String readString() {
+            int length = readVarInt();
+            if (length == 0) {
+                return null;
+            }
+            if (position + length - 1 > bytes.length) {
+                throw new SerializationException("Redis 값 형식이 올바르지 않습니다.");
+            }
+            String value = new String(bytes, position, length - 1, StandardCharsets.UTF_8);
+            position += length - 1;
+            return value;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                if (position >= bytes.length) {
+                    throw new SerializationException("Redis 값 형식이 올바르지 않습니다.");
+                }
+                byte b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Redis 값 형식이 올바르지 않습니다.");
+        }
+    }
+}
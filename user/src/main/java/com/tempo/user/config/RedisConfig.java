@@ -1,5 +1,7 @@
 package com.tempo.user.config;
 
+import com.tempo.user.domain.RefreshToken;
+import com.tempo.user.security.TokenBlacklist;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,6 +11,7 @@ import org.springframework.data.redis.connection.lettuce.LettuceClientConfigurat
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -18,7 +21,6 @@ import java.time.Duration;
 public class RedisConfig {
 
     private static final Duration TIMEOUT = Duration.ofSeconds(3);
-    public static final long CART_ITEM_TTL_SECONDS = 86400; // 24시간
 
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
@@ -48,4 +50,28 @@ public class RedisConfig {
 
         return template;
     }
-}
\ No newline at end of file
+
+    // 토큰 값 전용 템플릿: @class 메타데이터와 필드 이름 없이 바이너리로 저장한다.
+    // @RedisHash 저장소(RefreshTokenRepository 등)는 매핑 컨버터로 해시 필드를 쓰므로 이 설정의 영향을 받지 않는다.
+    @Bean
+    public RedisTemplate<String, RefreshToken> refreshTokenRedisTemplate(RedisConnectionFactory connectionFactory) {
+        return typedTemplate(connectionFactory, new RefreshTokenRedisSerializer());
+    }
+
+    @Bean
+    public RedisTemplate<String, TokenBlacklist> tokenBlacklistRedisTemplate(RedisConnectionFactory connectionFactory) {
+        return typedTemplate(connectionFactory, new TokenBlacklistRedisSerializer());
+    }
+
+    private <T> RedisTemplate<String, T> typedTemplate(RedisConnectionFactory connectionFactory,
+                                                      RedisSerializer<T> valueSerializer) {
+        RedisTemplate<String, T> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(valueSerializer);
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(valueSerializer);
+        template.afterPropertiesSet();
+        return template;
+    }
+}
@@ -0,0 +1,34 @@
+package com.tempo.user.config;
+
+import com.tempo.user.domain.RefreshToken;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+// RefreshToken 을 [형식 버전][id][refreshToken][userEmail] 바이너리로 직렬화 (클래스 정보, 필드 이름 없음)
+public class RefreshTokenRedisSerializer implements RedisSerializer<RefreshToken> {
+
+    @Override
+    public byte[] serialize(RefreshToken token) throws SerializationException {
+        if (token == null) {
+            return new byte[0];
+        }
+        return new CompactBinaryCodec.Writer()
+                .writeString(token.getId())
+                .writeString(token.getRefreshToken())
+                .writeString(token.getUserEmail())
+                .toByteArray();
+    }
+
+    @Override
+    public RefreshToken deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        CompactBinaryCodec.Reader reader = new CompactBinaryCodec.Reader(bytes);
+        return RefreshToken.builder()
+                .id(reader.readString())
+                .refreshToken(reader.readString())
+                .userEmail(reader.readString())
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.tempo.user.config;
+
+import com.tempo.user.security.TokenBlacklist;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+// TokenBlacklist 를 [형식 버전][id][token][reason] 바이너리로 직렬화 (클래스 정보, 필드 이름 없음)
+public class TokenBlacklistRedisSerializer implements RedisSerializer<TokenBlacklist> {
+
+    @Override
+    public byte[] serialize(TokenBlacklist blacklist) throws SerializationException {
+        if (blacklist == null) {
+            return new byte[0];
+        }
+        return new CompactBinaryCodec.Writer()
+                .writeString(blacklist.getId())
+                .writeString(blacklist.getToken())
+                .writeString(blacklist.getReason())
+                .toByteArray();
+    }
+
+    @Override
+    public TokenBlacklist deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        CompactBinaryCodec.Reader reader = new CompactBinaryCodec.Reader(bytes);
+        return TokenBlacklist.builder()
+                .id(reader.readString())
+                .token(reader.readString())
+                .reason(reader.readString())
+                .build();
+    }
+}
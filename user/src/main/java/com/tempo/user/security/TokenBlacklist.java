@@ -18,7 +18,8 @@ public class TokenBlacklist {
     private String reason;
 
     @Builder
-    public TokenBlacklist(String token, String reason) {
+    public TokenBlacklist(String id, String token, String reason) {
+        this.id = id;
         this.token = token;
         this.reason = reason;
     }